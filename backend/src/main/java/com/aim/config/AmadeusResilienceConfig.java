@@ -0,0 +1,75 @@
+package com.aim.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead guarding the Amadeus search call.
+ * While the circuit is open, or all bulkhead permits are taken, searches skip Amadeus
+ * immediately and fall back to cached or mock results.
+ */
+@Configuration
+@Slf4j
+public class AmadeusResilienceConfig {
+
+    public static final String AMADEUS = "amadeus";
+
+    @Bean
+    public CircuitBreaker amadeusCircuitBreaker(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        ApiConfig.Upstream upstream = apiConfig.getUpstream();
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(upstream.getFailureRateThreshold())
+                .slowCallRateThreshold(upstream.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(upstream.getSlowCallDuration())
+                .slidingWindowSize(upstream.getSlidingWindowSize())
+                .minimumNumberOfCalls(upstream.getMinimumCalls())
+                .waitDurationInOpenState(upstream.getOpenStateWait())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A full bulkhead is load shedding, not an Amadeus failure
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(AMADEUS);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            log.warn("Amadeus circuit breaker moved from {} to {}", transition.getFromState(), transition.getToState());
+            Counter.builder("amadeus.circuitbreaker.transitions")
+                    .description("Amadeus circuit breaker state transitions")
+                    .tag("from", transition.getFromState().name())
+                    .tag("to", transition.getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+        });
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead amadeusBulkhead(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(apiConfig.getUpstream().getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO) // Reject rather than queue
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(AMADEUS);
+    }
+}
@@ -0,0 +1,152 @@
+package com.aim.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.api")
+@Validated
+public class ApiConfig {
+
+    private String amadeusClientId;
+    private String amadeusClientSecret;
+    private String amadeusBaseUrl = "https://test.api.amadeus.com/v2";
+    private boolean useMockData = false;
+    private int maxSearchResults = 50; // Offers requested from Amadeus per search
+    @NotNull(message = "app.api.price-bucket-width must be set")
+    @DecimalMin(value = "0.01", message = "app.api.price-bucket-width must be at least 0.01")
+    @Digits(integer = 12, fraction = 2, message = "app.api.price-bucket-width must have at most 2 decimal places")
+    private BigDecimal priceBucketWidth = new BigDecimal("100"); // Width of each search price facet bucket
+    private int codeDictionaryMaxSize = 20_000; // Distinct airport, carrier and aircraft codes shared across results
+    private int fanOutConcurrency = 4; // Upstream searches run at once for one flexible-date or metro-area search
+    private int maxFanOutSearches = 60; // Upstream searches (days x airport pairs) one search may expand into
+    private Map<String, List<String>> metroAreas = new HashMap<>(); // Extra metro area codes, e.g. NYC: JFK,EWR,LGA
+    private int unmatchedSessionHistory = 100; // Recent payment updates for unknown Stripe sessions kept for inspection
+    private SearchCache searchCache = new SearchCache();
+    private SearchDiskCache searchDiskCache = new SearchDiskCache();
+    private SearchSnapshots searchSnapshots = new SearchSnapshots();
+    private Token token = new Token();
+    private Diagnostics diagnostics = new Diagnostics();
+    private Upstream upstream = new Upstream();
+    private CacheWarmer cacheWarmer = new CacheWarmer();
+    private ResponseCompression responseCompression = new ResponseCompression();
+
+    /**
+     * Settings for the in-process flight search result cache (app.api.search-cache.*)
+     */
+    @Data
+    public static class SearchCache {
+        private boolean enabled = true;
+        private Duration fresh = Duration.ofMinutes(2); // Served as-is; older entries are served stale and refreshed
+        private Duration ttl = Duration.ofMinutes(5); // Oldest entry that may be served, stale or not
+        private Duration revalidationBackoff = Duration.ofSeconds(30); // Least time between refreshes of one stale entry
+        private long maxWeight = 20_000; // Total number of cached tickets across all searches
+    }
+
+    /**
+     * Settings for the on-disk tier behind the search cache (app.api.search-disk-cache.*)
+     */
+    @Data
+    public static class SearchDiskCache {
+        private boolean enabled = false;
+        private String directory = Path.of(System.getProperty("java.io.tmpdir"), "aim-search-cache").toString();
+        private int maxEntries = 10_000; // Files kept after each purge, newest first
+        private Duration purgeInterval = Duration.ofMinutes(10); // How often expired files are deleted
+    }
+
+    /**
+     * Settings for materialized search results served page by page (app.api.search-snapshots.*)
+     */
+    @Data
+    public static class SearchSnapshots {
+        private Duration ttl = Duration.ofMinutes(15); // How long clients can keep paging through a search
+        private long maxWeight = 50_000; // Total number of tickets held across all snapshots
+        private long maxRefinedRows = 200_000; // Total rows of cached filtered and sorted views of snapshots
+    }
+
+    /**
+     * Settings for pre-fetching the most searched routes (app.api.cache-warmer.*)
+     */
+    @Data
+    public static class CacheWarmer {
+        private boolean enabled = true;
+        private Duration interval = Duration.ofMinutes(1); // How often the top searches are checked
+        private int trackedKeys = 500; // Searches counted by the heavy-hitters sketch
+        private int trackingQueueSize = 10_000; // Searches waiting to be counted; more are dropped
+        private Duration drainInterval = Duration.ofSeconds(1); // How often waiting searches are counted
+        private int topSearches = 20; // Most searched routes kept warm
+        private int maxRefreshesPerRun = 5; // Upstream calls the warmer may make per run
+        private Duration refreshAhead = Duration.ofMinutes(1); // Refresh this long before the cached entry expires
+    }
+
+    /**
+     * Compression of JSON responses to clients (app.api.response-compression.*)
+     */
+    @Data
+    public static class ResponseCompression {
+        private boolean enabled = true;
+        private DataSize minResponseSize = DataSize.ofKilobytes(2); // Smaller responses are sent uncompressed
+    }
+
+    /**
+     * Settings for the Amadeus OAuth token manager (app.api.token.*)
+     */
+    @Data
+    public static class Token {
+        private Duration refreshAhead = Duration.ofMinutes(5); // Renew this long before the token expires
+    }
+
+    /**
+     * Settings for sampled search diagnostics (app.api.diagnostics.*)
+     */
+    @Data
+    public static class Diagnostics {
+        private double sampleRate = 0.0; // Fraction of searches traced, 0 disables tracing
+    }
+
+    /**
+     * Timeouts, circuit breaker and bulkhead for calls to Amadeus (app.api.upstream.*)
+     */
+    @Data
+    public static class Upstream {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private float failureRateThreshold = 50; // Percentage of failed calls that opens the circuit
+        private float slowCallRateThreshold = 50; // Percentage of slow calls that opens the circuit
+        private Duration slowCallDuration = Duration.ofSeconds(3);
+        private int slidingWindowSize = 20; // Number of recent calls the rates are computed over
+        private int minimumCalls = 10; // Calls needed before the rates are evaluated
+        private Duration openStateWait = Duration.ofSeconds(30); // Time the circuit stays open before probing
+        private int maxConcurrentCalls = 20; // Concurrent Amadeus searches; further searches fail fast
+        private boolean http2 = true; // Negotiate HTTP/2 over TLS, falling back to HTTP/1.1
+        private boolean compression = true; // Request gzip-compressed responses
+        private Pool pool = new Pool();
+    }
+
+    /**
+     * Connection pool shared by all Amadeus calls (app.api.upstream.pool.*)
+     */
+    @Data
+    public static class Pool {
+        private int maxConnections = 100;
+        private int pendingAcquireMaxCount = 500; // Callers allowed to wait for a connection
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30); // Close connections idle for longer
+        private Duration maxLifeTime = Duration.ofMinutes(5); // Recycle connections periodically
+        private Duration evictionInterval = Duration.ofSeconds(30); // Background check for idle/expired connections
+    }
+}
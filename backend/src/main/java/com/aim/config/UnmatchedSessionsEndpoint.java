@@ -0,0 +1,27 @@
+package com.aim.config;
+
+import com.aim.dto.UnmatchedPaymentSession;
+import com.aim.service.impl.UnmatchedSessionLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Admin view of recent payment updates for unknown Stripe sessions, newest first.
+ * GET /actuator/unmatchedsessions (requires management.endpoints.web.exposure.include=unmatchedsessions)
+ */
+@Component
+@Endpoint(id = "unmatchedsessions")
+@RequiredArgsConstructor
+public class UnmatchedSessionsEndpoint {
+
+    private final UnmatchedSessionLog unmatchedSessionLog;
+
+    @ReadOperation
+    public List<UnmatchedPaymentSession> unmatchedSessions() {
+        return unmatchedSessionLog.recent();
+    }
+}
@@ -0,0 +1,73 @@
+package com.aim.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+public class WebClientConfig {
+
+    /**
+     * Pooled connections to Amadeus. Pool gauges (total, active, idle and pending connections)
+     * are published as reactor.netty.connection.provider.* tagged name=amadeus.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider amadeusConnectionProvider(ApiConfig apiConfig) {
+        ApiConfig.Pool pool = apiConfig.getUpstream().getPool();
+        
+        return ConnectionProvider.builder("amadeus")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient webClient(ApiConfig apiConfig, ConnectionProvider amadeusConnectionProvider) {
+        ApiConfig.Upstream upstream = apiConfig.getUpstream();
+        
+        // Bound every call so a slow Amadeus cannot hold a search indefinitely
+        HttpClient httpClient = HttpClient.create(amadeusConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) upstream.getConnectTimeout().toMillis())
+                .responseTimeout(upstream.getResponseTimeout())
+                .compress(upstream.isCompression());
+        
+        if (upstream.isHttp2()) {
+            // HTTP/2 is negotiated via ALPN on https URLs; plain http stays on HTTP/1.1
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(2 * 1024 * 1024)) // 2MB buffer
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public ObjectMapper objectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        
+        // Configure JavaTimeModule to serialize LocalDateTime as arrays
+        JavaTimeModule javaTimeModule = new JavaTimeModule();
+        mapper.registerModule(javaTimeModule);
+        
+        // Enable writing dates as timestamps (arrays)
+        mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        
+        return mapper;
+    }
+}
@@ -2,6 +2,8 @@ package com.aim.controller;
 
 import com.aim.dto.OrderRequest;
 import com.aim.dto.OrderResponse;
+import com.aim.dto.OrderSummary;
+import com.aim.dto.PaginatedResponse;
 import com.aim.dto.UpdateOrderPaymentRequest;
 import com.aim.dto.UpdateOrderPaymentResponse;
 import com.aim.model.Order;
@@ -15,7 +17,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -62,17 +63,24 @@ public class OrderController {
     }
 
     /**
-     * Get all orders for a user
-     * GET /api/v1/orders/user/{userEmail}
+     * Get a user's orders, newest first, one page at a time
+     * GET /api/v1/orders/user/{userEmail}?size=20&cursor=...
      */
     @GetMapping("/user/{userEmail}")
-    public ResponseEntity<List<Order>> getUserOrders(@PathVariable String userEmail) {
+    public ResponseEntity<PaginatedResponse<OrderSummary>> getUserOrders(
+            @PathVariable String userEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         log.info("Fetching orders for user: {}", userEmail);
         
-        List<Order> orders = orderRepository.findByUserEmail(userEmail);
-        
-        log.info("Found {} orders for user: {}", orders.size(), userEmail);
-        return ResponseEntity.ok(orders);
+        try {
+            PaginatedResponse<OrderSummary> orders = orderService.getOrderHistory(userEmail, cursor, size);
+            log.info("Found {} orders for user: {}", orders.getData().size(), userEmail);
+            return ResponseEntity.ok(orders);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid order history request for user {}: {}", userEmail, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -83,7 +91,7 @@ public class OrderController {
     public ResponseEntity<Order> getOrderByItineraryNumber(@PathVariable String itineraryNumber) {
         log.info("Fetching order with itinerary number: {}", itineraryNumber);
         
-        Optional<Order> order = orderRepository.findByItineraryNumber(itineraryNumber);
+        Optional<Order> order = orderRepository.findFirstByItineraryNumberOrderByIdAsc(itineraryNumber);
         if (order.isEmpty()) {
             log.warn("Order not found with itinerary number: {}", itineraryNumber);
             return ResponseEntity.notFound().build();
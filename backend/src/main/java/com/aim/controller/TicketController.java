@@ -4,6 +4,7 @@ import com.aim.dto.TicketSearchRequest;
 import com.aim.dto.PaginatedResponse;
 import com.aim.dto.CreateTicketRequest;
 import com.aim.dto.CreateTicketResponse;
+import com.aim.dto.FlightTicketSummary;
 import com.aim.model.FlightTicket;
 import com.aim.model.User;
 import com.aim.repository.FlightTicketRepository;
@@ -16,10 +17,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -35,26 +36,28 @@ public class TicketController {
     private final UserRepository userRepository;
 
     /**
-     * Search for available tickets based on criteria with pagination
+     * Search for available tickets based on criteria with pagination.
+     * The request thread is released while Amadeus is queried.
      * POST /api/v1/tickets/search
      */
     @PostMapping("/search")
-    public ResponseEntity<PaginatedResponse<FlightTicket>> searchTickets(@Valid @RequestBody TicketSearchRequest searchRequest) {
-        log.info("Received ticket search request: {} to {} on {} (page: {}, size: {})", 
+    public Mono<ResponseEntity<PaginatedResponse<FlightTicket>>> searchTickets(@Valid @RequestBody TicketSearchRequest searchRequest) {
+        log.debug("Received ticket search request: {} to {} on {} (page: {}, size: {})", 
                 searchRequest.getOrigin(), 
                 searchRequest.getDestination(), 
                 searchRequest.getDepartureDate(),
                 searchRequest.getPage(),
                 searchRequest.getSize());
         
-        PaginatedResponse<FlightTicket> response = ticketService.searchTickets(searchRequest);
-        
-        log.info("Found {} tickets matching criteria (page {} of {})", 
-                response.getData().size(),
-                response.getPagination().getPage() + 1,
-                response.getPagination().getTotalPages());
-        
-        return ResponseEntity.ok(response);
+        return ticketService.searchTicketsReactive(searchRequest)
+                .map(response -> {
+                    log.debug("Found {} tickets matching criteria (page {} of {})", 
+                            response.getData().size(),
+                            response.getPagination().getPage() + 1,
+                            response.getPagination().getTotalPages());
+                    
+                    return ResponseEntity.ok(response);
+                });
     }
 
     /**
@@ -121,17 +124,24 @@ public class TicketController {
     }
 
     /**
-     * Get all flight tickets for a user
-     * GET /api/v1/tickets/user/{userEmail}
+     * Get a user's flight tickets, ordered by departure time, one page at a time
+     * GET /api/v1/tickets/user/{userEmail}?size=20&cursor=...
      */
     @GetMapping("/user/{userEmail}")
-    public ResponseEntity<List<FlightTicket>> getUserFlightTickets(@PathVariable String userEmail) {
+    public ResponseEntity<PaginatedResponse<FlightTicketSummary>> getUserFlightTickets(
+            @PathVariable String userEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         log.info("Fetching flight tickets for user: {}", userEmail);
         
-        List<FlightTicket> tickets = flightTicketRepository.findByUserEmail(userEmail);
-        
-        log.info("Found {} flight tickets for user: {}", tickets.size(), userEmail);
-        return ResponseEntity.ok(tickets);
+        try {
+            PaginatedResponse<FlightTicketSummary> tickets = ticketService.getUserTickets(userEmail, cursor, size);
+            log.info("Found {} flight tickets for user: {}", tickets.getData().size(), userEmail);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid ticket listing request for user {}: {}", userEmail, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -190,6 +200,15 @@ public class TicketController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * Handle invalid search state, such as a cursor that does not match the request
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
+        log.warn("Rejected request: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+    
     /**
      * Handle validation errors
      */
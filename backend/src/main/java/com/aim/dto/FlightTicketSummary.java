@@ -0,0 +1,52 @@
+package com.aim.dto;
+
+import com.aim.model.FlightTicket;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a booked flight ticket for listings. Holds only ticket columns, so listing
+ * tickets never loads their users.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightTicketSummary {
+    private Long id;
+    private String passengerName;
+    private LocalDate passengerDob;
+    private String passengerEmail;
+    private String origin;
+    private String destination;
+    private boolean roundTrip;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private LocalDateTime returnDepartureTime;
+    private LocalDateTime returnArrivalTime;
+    private String airline;
+    private BigDecimal cost;
+    private int stops;
+    private String baggage;
+    private String travelClass;
+    private String duration;
+
+    // JSON field alias for frontend compatibility, as on FlightTicket
+    @JsonProperty("price")
+    public BigDecimal getPrice() {
+        return cost;
+    }
+
+    public static FlightTicketSummary from(FlightTicket ticket) {
+        return new FlightTicketSummary(ticket.getId(), ticket.getPassengerName(), ticket.getPassengerDob(),
+                ticket.getPassengerEmail(), ticket.getOrigin(), ticket.getDestination(), ticket.isRoundTrip(),
+                ticket.getDepartureTime(), ticket.getArrivalTime(), ticket.getReturnDepartureTime(),
+                ticket.getReturnArrivalTime(), ticket.getAirline(), ticket.getCost(), ticket.getStops(),
+                ticket.getBaggage(), ticket.getTravelClass(), ticket.getDuration());
+    }
+}
@@ -0,0 +1,36 @@
+package com.aim.dto;
+
+import com.aim.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of an order for order history, with its flight ticket and without its user
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummary {
+    private Long id;
+    private String orderNumber;
+    private String itineraryNumber;
+    private String email;
+    private String ticketInfo;
+    private BigDecimal cost;
+    private String paymentStatus;
+    private LocalDateTime createdAt;
+    private FlightTicketSummary flightTicket;
+
+    /**
+     * Build the summary of an order whose flight ticket is already loaded
+     */
+    public static OrderSummary from(Order order) {
+        return new OrderSummary(order.getId(), order.getOrderNumber(), order.getItineraryNumber(),
+                order.getEmail(), order.getTicketInfo(), order.getCost(), order.getPaymentStatus(),
+                order.getCreatedAt(), FlightTicketSummary.from(order.getFlightTicket()));
+    }
+}
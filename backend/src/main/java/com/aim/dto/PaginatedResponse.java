@@ -0,0 +1,53 @@
+package com.aim.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaginatedResponse<T> {
+    private List<T> data;
+    private PaginationMetadata pagination;
+    private String searchId; // Set for search results; pass back to page through the same results
+    private SearchFacets facets; // Set for search results
+    private List<PriceCalendarDay> priceCalendar; // Set for flexible-date searches, one entry per searched day
+    private Boolean stale; // Set for search results; true if older than the cache's fresh window
+    private Long dataAgeSeconds; // Set for search results; age of the oldest ticket data in the result
+    
+    public PaginatedResponse(List<T> data, PaginationMetadata pagination) {
+        this.data = data;
+        this.pagination = pagination;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PaginationMetadata {
+        private int page;
+        private int size;
+        private long totalElements;
+        private int totalPages;
+        private boolean hasNext;
+        private boolean hasPrevious;
+        private String nextCursor; // Opaque cursor for the next page, null on the last page
+        
+        public PaginationMetadata(int page, int size, long totalElements, int totalPages,
+                                  boolean hasNext, boolean hasPrevious) {
+            this(page, size, totalElements, totalPages, hasNext, hasPrevious, null);
+        }
+        
+        /**
+         * Metadata of a cursor-paginated page, where following pages are only reachable through nextCursor
+         */
+        public static PaginationMetadata forCursor(int page, int size, long totalElements, String nextCursor) {
+            int totalPages = (int) ((totalElements + size - 1) / size);
+            return new PaginationMetadata(page, size, totalElements, totalPages, nextCursor != null, page > 0, nextCursor);
+        }
+    }
+}
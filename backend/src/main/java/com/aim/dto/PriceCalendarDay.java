@@ -0,0 +1,20 @@
+package com.aim.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lowest price found for one departure date of a flexible-date search
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceCalendarDay {
+    private LocalDate departureDate;
+    private LocalDate returnDate; // null for one-way
+    private BigDecimal lowestPrice; // null if no priced ticket was found
+    private int ticketCount;
+}
@@ -0,0 +1,29 @@
+package com.aim.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ticket counts over all results of a search, before filters are applied
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacets {
+    private Map<String, Long> airlines; // Tickets per airline
+    private Map<Integer, Long> stops; // Tickets per number of stops
+    private List<PriceBucket> priceHistogram; // Tickets per price range, lowest first
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+        private BigDecimal from; // Inclusive
+        private BigDecimal to; // Exclusive
+        private long count;
+    }
+}
@@ -0,0 +1,10 @@
+package com.aim.dto;
+
+/**
+ * Orderings available for search results
+ */
+public enum SearchSort {
+    PRICE,
+    DURATION,
+    DEPARTURE
+}
@@ -0,0 +1,76 @@
+package com.aim.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchRequest {
+    @NotBlank(message = "Origin is required")
+    private String origin;
+    
+    @NotBlank(message = "Destination is required")
+    private String destination;
+    
+    @NotNull(message = "Departure date is required")
+    @FutureOrPresent(message = "Departure date must be today or in the future")
+    private LocalDate departureDate;
+    
+    private LocalDate returnDate; // nullable for one-way
+    
+    private boolean roundTrip;
+    
+    @Min(value = 1, message = "At least 1 passenger is required")
+    private int passengers = 1;
+    
+    // Pagination parameters
+    @Min(value = 0, message = "Page number must be 0 or greater")
+    private int page = 0;
+    
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = 100, message = "Page size cannot exceed 100")
+    private int size = 10;
+    
+    // Flexible-date search: also search this many days before and after the departure date,
+    // keeping the trip length for round trips
+    @Min(value = 0, message = "Flexible days cannot be negative")
+    @Max(value = 7, message = "Flexible days cannot exceed 7")
+    private int flexibleDays = 0;
+    
+    // Continue a previous search from its snapshot instead of searching again
+    private String searchId; // Serves the requested page of that search
+    private String cursor; // Takes precedence over searchId and page
+    
+    // Optional filters; facets in the response are counted before they are applied
+    @PositiveOrZero(message = "Maximum price cannot be negative")
+    private BigDecimal maxPrice;
+    
+    @PositiveOrZero(message = "Maximum stops cannot be negative")
+    private Integer maxStops;
+    
+    private Set<String> airlines; // Airline names or carrier codes to include
+    
+    private LocalTime departureAfter; // Outbound departure at or after this time
+    
+    private LocalTime departureBefore; // Outbound departure at or before this time
+    
+    @Min(value = 1, message = "Maximum duration must be at least 1 minute")
+    private Integer maxDurationMinutes;
+    
+    // Sorting; null keeps the order the results were found in
+    private SearchSort sortBy;
+    
+    private boolean sortDescending;
+} 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.aim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A payment update or lookup for a Stripe session that no order refers to
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnmatchedPaymentSession {
+    private String sessionId;
+    private String paymentStatus; // null for lookups
+    private String source; // "update" or "lookup"
+    private Instant occurredAt;
+}
@@ -7,7 +7,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "flight_ticket")
+@Table(name = "flight_ticket", indexes = {
+        @Index(name = "idx_flight_ticket_email_departure", columnList = "email, departure_time"),
+        @Index(name = "idx_flight_ticket_route", columnList = "origin, destination")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,7 +42,7 @@ public class FlightTicket {
     @Column(nullable = false)
     private boolean roundTrip;
 
-    @Column(nullable = false)
+    @Column(name = "departure_time", nullable = false)
     private LocalDateTime departureTime;
 
     @Column(nullable = false)
@@ -6,7 +6,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_orders_stripe_session_id", columnList = "stripe_session_id"),
+        @Index(name = "idx_orders_itenary_number", columnList = "itenary_number")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,10 +34,11 @@ public class Order {
     @Column(name = "ticket_info", nullable = false)
     private String ticketInfo;
 
-    @Column(name = "order_number", nullable = false, unique = true)
+    // Shared by every row (one per flight ticket) of the same order
+    @Column(name = "order_number", nullable = false)
     private String orderNumber;
 
-    @Column(name = "itenary_number", nullable = false, unique = true)
+    @Column(name = "itenary_number", nullable = false)
     private String itineraryNumber;
 
     @Column(nullable = false)
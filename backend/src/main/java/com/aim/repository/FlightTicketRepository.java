@@ -0,0 +1,54 @@
+package com.aim.repository;
+
+import com.aim.dto.FlightTicketSummary;
+import com.aim.model.FlightTicket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FlightTicketRepository extends JpaRepository<FlightTicket, Long> {
+    
+    String SUMMARY_COLUMNS = "t.id, t.passengerName, t.passengerDob, t.passengerEmail, t.origin, t.destination, "
+            + "t.roundTrip, t.departureTime, t.arrivalTime, t.returnDepartureTime, t.returnArrivalTime, "
+            + "t.airline, t.cost, t.stops, t.baggage, t.travelClass, t.duration";
+    
+    List<FlightTicket> findByUserEmail(String email);
+    
+    List<FlightTicket> findByOriginAndDestination(String origin, String destination);
+    
+    List<FlightTicket> findByUserEmailAndRoundTrip(String email, boolean roundTrip);
+    
+    long countByUserEmail(String email);
+    
+    /**
+     * First page of a user's tickets as listing rows, ordered by departure, read without loading users.
+     * Served by the (email, departure_time) index.
+     */
+    @Query("SELECT new com.aim.dto.FlightTicketSummary(" + SUMMARY_COLUMNS + ") FROM FlightTicket t "
+            + "WHERE t.user.email = :email ORDER BY t.departureTime, t.id")
+    List<FlightTicketSummary> findSummariesByUserEmail(@Param("email") String email, Pageable pageable);
+    
+    /**
+     * Next page of a user's tickets: the tickets sorted after the given (departureTime, id) position
+     */
+    @Query("SELECT new com.aim.dto.FlightTicketSummary(" + SUMMARY_COLUMNS + ") FROM FlightTicket t "
+            + "WHERE t.user.email = :email "
+            + "AND (t.departureTime > :departureTime OR (t.departureTime = :departureTime AND t.id > :id)) "
+            + "ORDER BY t.departureTime, t.id")
+    List<FlightTicketSummary> findSummariesByUserEmailAfter(@Param("email") String email,
+                                                            @Param("departureTime") LocalDateTime departureTime,
+                                                            @Param("id") Long id, Pageable pageable);
+    
+    /**
+     * Load tickets together with their owning users in one query
+     */
+    @Query("SELECT t FROM FlightTicket t LEFT JOIN FETCH t.user WHERE t.id IN :ids")
+    List<FlightTicket> findAllByIdWithUser(@Param("ids") Collection<Long> ids);
+} 
\ No newline at end of file
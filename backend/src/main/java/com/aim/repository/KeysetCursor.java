@@ -0,0 +1,46 @@
+package com.aim.repository;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Cursor for keyset pagination: the sort position (timestamp, id) of the last row
+ * returned, the index of the page it leads to, and the total counted on the first page,
+ * so later pages do not count again. Clients receive it signed by KeysetCursorCodec and
+ * pass it back unchanged.
+ */
+@Value
+public class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    LocalDateTime position;
+    long id;
+    int page;
+    long total;
+
+    String format() {
+        return position.toString() + SEPARATOR + id + SEPARATOR + page + SEPARATOR + total;
+    }
+
+    /**
+     * Parse the fields written by format
+     * @return the cursor, or null if the value is malformed
+     */
+    static KeysetCursor parse(String raw) {
+        try {
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 4) {
+                return null;
+            }
+            int page = Integer.parseInt(parts[2]);
+            long total = Long.parseLong(parts[3]);
+            return page <= 0 || total < 0 ? null
+                    : new KeysetCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]), page, total);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.aim.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Turns keyset cursors into opaque strings for clients and back. Each cursor is signed with an
+ * HMAC over its fields and the listing it was issued for, so a client cannot change its position,
+ * page or total, or use it on another user's listing.
+ * The key is app.api.cursor-secret; without one a random key is generated at startup, and
+ * cursors are then rejected after a restart or by another instance.
+ */
+@Component
+@Slf4j
+public class KeysetCursorCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final char SIGNATURE_SEPARATOR = '.'; // Not in the URL-safe Base64 alphabet
+
+    private final SecretKeySpec key;
+
+    public KeysetCursorCodec(@Value("${app.api.cursor-secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            log.info("No app.api.cursor-secret set, signing page cursors with a random key");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /**
+     * Encode a cursor for a client
+     * @param listing Identifies the listing being paged, e.g. the user it belongs to
+     */
+    public String encode(KeysetCursor cursor, String listing) {
+        String raw = cursor.format();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(raw.getBytes(StandardCharsets.UTF_8)) + SIGNATURE_SEPARATOR
+                + encoder.encodeToString(sign(raw, listing));
+    }
+
+    /**
+     * Decode a cursor previously returned to a client
+     * @param listing The listing the cursor must have been issued for
+     * @return the cursor, or null if the value is not a cursor issued by this service for that listing
+     */
+    public KeysetCursor decode(String cursor, String listing) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        int separator = cursor.indexOf(SIGNATURE_SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            String raw = new String(decoder.decode(cursor.substring(0, separator)), StandardCharsets.UTF_8);
+            byte[] signature = decoder.decode(cursor.substring(separator + 1));
+            return MessageDigest.isEqual(signature, sign(raw, listing)) ? KeysetCursor.parse(raw) : null;
+        } catch (IllegalArgumentException e) {
+            // Malformed Base64
+            return null;
+        }
+    }
+
+    private byte[] sign(String raw, String listing) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(String.valueOf(listing).getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Arrays.copyOf(mac.doFinal(raw.getBytes(StandardCharsets.UTF_8)), SIGNATURE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.aim.repository;
+
+import com.aim.model.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+    
+    List<Order> findByUserEmail(String email);
+    
+    /**
+     * First row of the order with this itinerary number; an order has one row per flight ticket
+     */
+    Optional<Order> findFirstByItineraryNumberOrderByIdAsc(String itineraryNumber);
+    
+    List<Order> findByUserEmailOrderByCreatedAtDesc(String email);
+    
+    Optional<Order> findByStripeSessionId(String stripeSessionId);
+    
+    long countByUserId(Long userId);
+    
+    /**
+     * First page of a user's order history, newest first, with each order's flight ticket loaded
+     * in the same query. Served by the (user_id, created_at) index.
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.flightTicket WHERE o.user.id = :userId "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Next page of a user's order history: the orders sorted after the given (createdAt, id) position
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.flightTicket WHERE o.user.id = :userId "
+            + "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistoryByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Pageable pageable);
+} 
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.aim.repository;
+
+import com.aim.model.Order;
+
+import java.util.List;
+
+/**
+ * Order writes that bypass the JPA persist path
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Insert new orders in one JDBC batch and set their generated IDs.
+     * Hibernate cannot batch inserts of IDENTITY-keyed entities, so orders of several tickets
+     * would otherwise cost one round trip per row. On SQL Server, whose driver returns no generated
+     * keys for batches, the rows are inserted one at a time instead.
+     * The orders are not attached to the persistence context.
+     * @throws org.springframework.dao.DataRetrievalFailureException if the driver does not return one ID per order
+     */
+    List<Order> insertAll(List<Order> orders);
+}
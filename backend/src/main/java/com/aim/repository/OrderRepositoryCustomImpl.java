@@ -0,0 +1,129 @@
+package com.aim.repository;
+
+import com.aim.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    // Every column Order maps except the generated id, in the order bind() sets them;
+    // OrderInsertColumnsTest fails when the entity gains a column that is missing here
+    static final List<String> INSERT_COLUMNS = List.of("user_id", "flight_ticket", "email", "ticket_info",
+            "order_number", "itenary_number", "cost", "hotel_stay_order", "rental_order", "created_at",
+            "payment_status", "stripe_session_id");
+
+    private static final String INSERT_ORDER = "INSERT INTO orders (" + String.join(", ", INSERT_COLUMNS)
+            + ") VALUES (" + String.join(", ", Collections.nCopies(INSERT_COLUMNS.size(), "?")) + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean batchReturnsKeys;
+
+    @Override
+    public List<Order> insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+
+        List<Map<String, Object>> keys = batchReturnsKeys() ? insertBatch(orders) : insertOneByOne(orders);
+        if (keys.size() != orders.size()) {
+            throw new DataRetrievalFailureException("Inserted " + orders.size()
+                    + " orders but the driver returned " + keys.size() + " generated IDs");
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            // The key column is reported as "id", "GENERATED_KEY" or "GENERATED_KEYS" depending on the driver
+            Object key = keys.get(i).values().iterator().next();
+            orders.get(i).setId(((Number) key).longValue());
+        }
+        return orders;
+    }
+
+    private List<Map<String, Object>> insertBatch(List<Order> orders) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_ORDER, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        bind(statement, orders.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orders.size();
+                    }
+                },
+                keyHolder);
+        return keyHolder.getKeyList();
+    }
+
+    private List<Map<String, Object>> insertOneByOne(List<Order> orders) {
+        List<Map<String, Object>> keys = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT_ORDER, Statement.RETURN_GENERATED_KEYS);
+                bind(statement, order);
+                return statement;
+            }, keyHolder);
+            keys.addAll(keyHolder.getKeyList());
+        }
+        return keys;
+    }
+
+    /**
+     * Whether the driver returns generated keys for a batch; mssql-jdbc returns none
+     */
+    private boolean batchReturnsKeys() {
+        if (batchReturnsKeys == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            batchReturnsKeys = !"Microsoft SQL Server".equals(product);
+        }
+        return batchReturnsKeys;
+    }
+
+    private static void bind(PreparedStatement statement, Order order) throws SQLException {
+        // Same defaults as the entity's field initializer and @PrePersist callback
+        if (order.getCreatedAt() == null) {
+            order.setCreatedAt(LocalDateTime.now());
+        }
+        if (order.getPaymentStatus() == null) {
+            order.setPaymentStatus("pending");
+        }
+
+        if (order.getUser() == null) {
+            statement.setNull(1, Types.BIGINT);
+        } else {
+            statement.setLong(1, order.getUser().getId());
+        }
+        statement.setLong(2, order.getFlightTicket().getId());
+        statement.setString(3, order.getEmail());
+        statement.setString(4, order.getTicketInfo());
+        statement.setString(5, order.getOrderNumber());
+        statement.setString(6, order.getItineraryNumber());
+        statement.setBigDecimal(7, order.getCost());
+        statement.setString(8, order.getHotelStayOrder());
+        statement.setString(9, order.getRentalOrder());
+        statement.setTimestamp(10, Timestamp.valueOf(order.getCreatedAt()));
+        statement.setString(11, order.getPaymentStatus());
+        statement.setString(12, order.getStripeSessionId());
+    }
+}
@@ -0,0 +1,97 @@
+package com.aim.search;
+
+import com.aim.config.ApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Shared instances of the short codes that repeat across flight offers: airports, carriers,
+ * aircraft and terminals. Parsed and generated tickets keep the shared instance instead of
+ * their own copy, so cached results hold each code once.
+ * The dictionary stops growing at app.api.code-dictionary-max-size entries; codes seen after
+ * that are returned unchanged. It never evicts, so only codes from trusted sources (the Amadeus
+ * parser, stored results) go through intern(); client input goes through internAirportCode().
+ */
+@Component
+public class CodeDictionary {
+
+    // Anything longer is not a code and is not worth sharing
+    private static final int MAX_CODE_LENGTH = 16;
+
+    private static final Pattern AIRPORT_CODE = Pattern.compile("[A-Z]{3}");
+
+    // String object header and fields plus the byte[] header on a 64-bit JVM with compressed oops
+    private static final int STRING_OVERHEAD_BYTES = 24 + 16;
+
+    private final Map<String, String> codes = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter savedBytes;
+
+    public CodeDictionary(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.maxSize = apiConfig.getCodeDictionaryMaxSize();
+        this.hits = Counter.builder("search.codes.hits")
+                .description("Codes replaced by an existing shared instance")
+                .register(meterRegistry);
+        this.misses = Counter.builder("search.codes.misses")
+                .description("Codes not yet in the dictionary")
+                .register(meterRegistry);
+        this.savedBytes = Counter.builder("search.codes.saved")
+                .description("Estimated heap of duplicate code strings replaced by a shared instance")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("search.codes.size", codes, Map::size)
+                .description("Distinct codes in the dictionary")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the shared instance of a code
+     * @return the shared instance, or the code itself if it is new, too long or the dictionary is full
+     */
+    public String intern(String code) {
+        if (code == null || code.length() > MAX_CODE_LENGTH) {
+            return code;
+        }
+
+        String shared = codes.get(code);
+        if (shared != null) {
+            if (shared != code) {
+                hits.increment();
+                savedBytes.increment(retainedBytes(code));
+            }
+            return shared;
+        }
+
+        misses.increment();
+        if (codes.size() >= maxSize) {
+            return code;
+        }
+        shared = codes.putIfAbsent(code, code);
+        return shared != null ? shared : code;
+    }
+
+    /**
+     * Get the shared instance of an airport code taken from client input. Only three-letter IATA codes
+     * are shared, so arbitrary strings cannot fill the dictionary; anything else is returned unchanged.
+     */
+    public String internAirportCode(String code) {
+        return code != null && AIRPORT_CODE.matcher(code).matches() ? intern(code) : code;
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    private static long retainedBytes(String code) {
+        // Latin-1 strings store one byte per character, padded to 8 bytes
+        return STRING_OVERHEAD_BYTES + ((code.length() + 7) & ~7);
+    }
+}
@@ -0,0 +1,578 @@
+package com.aim.search;
+
+import com.aim.model.FlightTicket;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact, read-only form of a search result, used for caching, filtering, sorting and paging.
+ * Each ticket field is a primitive column: times as epoch minutes, prices as cents and all strings
+ * (airlines, airports, flight numbers...) as indexes into a dictionary shared by the result.
+ * Segments are stored the same way, with per-ticket offsets into the segment columns.
+ * FlightTicket objects are only rebuilt for the rows that are actually returned.
+ *
+ * Only search fields are kept; ids and passenger details are always null for search results.
+ */
+public final class ColumnarSearchResult {
+
+    public static final ColumnarSearchResult EMPTY = of(List.of());
+
+    static final long NO_TIME = Long.MIN_VALUE;
+    static final long NO_PRICE = Long.MIN_VALUE;
+    static final int NO_CODE = -1;
+    static final int NO_DURATION = -1;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final byte ROUND_TRIP = 1;
+    private static final byte HAS_OUTBOUND_SEGMENTS = 2;
+    private static final byte HAS_RETURN_SEGMENTS = 4;
+
+    private final int size;
+    private String[] dictionary; // Set once by of(), before the result is shared
+    private Instant fetchedAt; // When the oldest ticket in the result was fetched; set once by of()/concat()
+
+    // Ticket columns, indexed by row
+    private final byte[] flags;
+    private final int[] origin;
+    private final int[] destination;
+    private final long[] departure;
+    private final long[] arrival;
+    private final long[] returnDeparture;
+    private final long[] returnArrival;
+    private final int[] airline;
+    private final long[] priceCents;
+    private final byte[] priceScale;
+    private final int[] stops;
+    private final int[] baggage;
+    private final int[] travelClass;
+    private final int[] duration;
+    private final int[] durationMinutes;
+
+    // Row i has outbound segments [segmentOffsets[2i], segmentOffsets[2i+1])
+    // and return segments [segmentOffsets[2i+1], segmentOffsets[2i+2])
+    private final int[] segmentOffsets;
+
+    // Segment columns
+    private final int[] segmentDepartureAirport;
+    private final int[] segmentArrivalAirport;
+    private final long[] segmentDepartureTime;
+    private final long[] segmentArrivalTime;
+    private final int[] segmentAirline;
+    private final int[] segmentFlightNumber;
+    private final int[] segmentDuration;
+    private final int[] segmentAircraft;
+    private final int[] segmentTerminal;
+    private final int[] segmentGate;
+
+    private ColumnarSearchResult(int size, int segmentCount) {
+        this.size = size;
+        this.flags = new byte[size];
+        this.origin = new int[size];
+        this.destination = new int[size];
+        this.departure = new long[size];
+        this.arrival = new long[size];
+        this.returnDeparture = new long[size];
+        this.returnArrival = new long[size];
+        this.airline = new int[size];
+        this.priceCents = new long[size];
+        this.priceScale = new byte[size];
+        this.stops = new int[size];
+        this.baggage = new int[size];
+        this.travelClass = new int[size];
+        this.duration = new int[size];
+        this.durationMinutes = new int[size];
+        this.segmentOffsets = new int[2 * size + 1];
+        this.segmentDepartureAirport = new int[segmentCount];
+        this.segmentArrivalAirport = new int[segmentCount];
+        this.segmentDepartureTime = new long[segmentCount];
+        this.segmentArrivalTime = new long[segmentCount];
+        this.segmentAirline = new int[segmentCount];
+        this.segmentFlightNumber = new int[segmentCount];
+        this.segmentDuration = new int[segmentCount];
+        this.segmentAircraft = new int[segmentCount];
+        this.segmentTerminal = new int[segmentCount];
+        this.segmentGate = new int[segmentCount];
+    }
+
+    /**
+     * Convert search tickets to columns
+     */
+    public static ColumnarSearchResult of(List<FlightTicket> tickets) {
+        int segmentCount = 0;
+        for (FlightTicket ticket : tickets) {
+            segmentCount += count(ticket.getOutboundSegments()) + count(ticket.getReturnSegments());
+        }
+
+        ColumnarSearchResult columns = new ColumnarSearchResult(tickets.size(), segmentCount);
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int segment = 0;
+
+        for (int row = 0; row < tickets.size(); row++) {
+            FlightTicket ticket = tickets.get(row);
+
+            byte rowFlags = ticket.isRoundTrip() ? ROUND_TRIP : 0;
+            if (ticket.getOutboundSegments() != null) {
+                rowFlags |= HAS_OUTBOUND_SEGMENTS;
+            }
+            if (ticket.getReturnSegments() != null) {
+                rowFlags |= HAS_RETURN_SEGMENTS;
+            }
+            columns.flags[row] = rowFlags;
+            columns.origin[row] = encode(ticket.getOrigin(), codes, dictionary);
+            columns.destination[row] = encode(ticket.getDestination(), codes, dictionary);
+            columns.departure[row] = toEpochMinute(ticket.getDepartureTime());
+            columns.arrival[row] = toEpochMinute(ticket.getArrivalTime());
+            columns.returnDeparture[row] = toEpochMinute(ticket.getReturnDepartureTime());
+            columns.returnArrival[row] = toEpochMinute(ticket.getReturnArrivalTime());
+            columns.airline[row] = encode(ticket.getAirline(), codes, dictionary);
+            columns.stops[row] = ticket.getStops();
+            columns.baggage[row] = encode(ticket.getBaggage(), codes, dictionary);
+            columns.travelClass[row] = encode(ticket.getTravelClass(), codes, dictionary);
+            columns.duration[row] = encode(ticket.getDuration(), codes, dictionary);
+            columns.durationMinutes[row] = parseDurationMinutes(ticket.getDuration());
+
+            BigDecimal cost = ticket.getCost();
+            if (cost == null) {
+                columns.priceCents[row] = NO_PRICE;
+            } else {
+                // Prices are kept to the cent; the original scale is restored when the ticket is rebuilt
+                columns.priceCents[row] = cost.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                columns.priceScale[row] = (byte) Math.max(0, Math.min(2, cost.scale()));
+            }
+
+            columns.segmentOffsets[2 * row] = segment;
+            segment = encodeSegments(ticket.getOutboundSegments(), columns, segment, codes, dictionary);
+            columns.segmentOffsets[2 * row + 1] = segment;
+            segment = encodeSegments(ticket.getReturnSegments(), columns, segment, codes, dictionary);
+        }
+        columns.segmentOffsets[2 * tickets.size()] = segment;
+
+        columns.dictionary = dictionary.toArray(new String[0]);
+        columns.fetchedAt = Instant.now();
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return when the oldest ticket in the result was fetched; now for an empty result, which holds no data to age
+     */
+    public Instant getFetchedAt() {
+        return size == 0 ? Instant.now() : fetchedAt;
+    }
+
+    // Bytes writeTo stores per ticket (row columns and two segment offsets) and per segment
+    private static final int ROW_BYTES = 2 * Byte.BYTES + 8 * Integer.BYTES + 5 * Long.BYTES + 2 * Integer.BYTES;
+    private static final int SEGMENT_BYTES = 8 * Integer.BYTES + 2 * Long.BYTES;
+
+    /**
+     * Write the columns in a compact binary form, read back by readFrom
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        out.writeInt(segmentAirline.length);
+        out.writeLong(fetchedAt.toEpochMilli());
+        out.writeInt(dictionary.length);
+        for (String code : dictionary) {
+            out.writeUTF(code);
+        }
+
+        writeBytes(out, flags);
+        writeInts(out, origin);
+        writeInts(out, destination);
+        writeLongs(out, departure);
+        writeLongs(out, arrival);
+        writeLongs(out, returnDeparture);
+        writeLongs(out, returnArrival);
+        writeInts(out, airline);
+        writeLongs(out, priceCents);
+        writeBytes(out, priceScale);
+        writeInts(out, stops);
+        writeInts(out, baggage);
+        writeInts(out, travelClass);
+        writeInts(out, duration);
+        writeInts(out, durationMinutes);
+        writeInts(out, segmentOffsets);
+
+        writeInts(out, segmentDepartureAirport);
+        writeInts(out, segmentArrivalAirport);
+        writeLongs(out, segmentDepartureTime);
+        writeLongs(out, segmentArrivalTime);
+        writeInts(out, segmentAirline);
+        writeInts(out, segmentFlightNumber);
+        writeInts(out, segmentDuration);
+        writeInts(out, segmentAircraft);
+        writeInts(out, segmentTerminal);
+        writeInts(out, segmentGate);
+    }
+
+    /**
+     * Read a result written by writeTo, keeping the time its data was originally fetched.
+     * Codes are replaced by their shared instances from the given dictionary.
+     * @param length Bytes available to read; counts in the header that need more are rejected before allocating
+     */
+    public static ColumnarSearchResult readFrom(DataInput in, long length, CodeDictionary codeDictionary)
+            throws IOException {
+        int size = in.readInt();
+        int segmentCount = in.readInt();
+        if (size < 0 || segmentCount < 0
+                || (long) size * ROW_BYTES + (long) segmentCount * SEGMENT_BYTES > length) {
+            throw new IOException("Invalid search result header: " + size + " tickets, " + segmentCount
+                    + " segments in " + length + " bytes");
+        }
+        ColumnarSearchResult columns = new ColumnarSearchResult(size, segmentCount);
+        columns.fetchedAt = Instant.ofEpochMilli(in.readLong());
+        int dictionarySize = in.readInt();
+        // Each code takes at least its two-byte length
+        if (dictionarySize < 0 || 2L * dictionarySize > length) {
+            throw new IOException("Invalid search result dictionary size: " + dictionarySize);
+        }
+        String[] dictionary = new String[dictionarySize];
+        for (int code = 0; code < dictionary.length; code++) {
+            dictionary[code] = codeDictionary.intern(in.readUTF());
+        }
+        columns.dictionary = dictionary;
+
+        readBytes(in, columns.flags);
+        readInts(in, columns.origin);
+        readInts(in, columns.destination);
+        readLongs(in, columns.departure);
+        readLongs(in, columns.arrival);
+        readLongs(in, columns.returnDeparture);
+        readLongs(in, columns.returnArrival);
+        readInts(in, columns.airline);
+        readLongs(in, columns.priceCents);
+        readBytes(in, columns.priceScale);
+        readInts(in, columns.stops);
+        readInts(in, columns.baggage);
+        readInts(in, columns.travelClass);
+        readInts(in, columns.duration);
+        readInts(in, columns.durationMinutes);
+        readInts(in, columns.segmentOffsets);
+
+        readInts(in, columns.segmentDepartureAirport);
+        readInts(in, columns.segmentArrivalAirport);
+        readLongs(in, columns.segmentDepartureTime);
+        readLongs(in, columns.segmentArrivalTime);
+        readInts(in, columns.segmentAirline);
+        readInts(in, columns.segmentFlightNumber);
+        readInts(in, columns.segmentDuration);
+        readInts(in, columns.segmentAircraft);
+        readInts(in, columns.segmentTerminal);
+        readInts(in, columns.segmentGate);
+        return columns;
+    }
+
+    /**
+     * Join several results into one, keeping their order
+     */
+    public static ColumnarSearchResult concat(List<ColumnarSearchResult> parts) {
+        return concat(parts, false);
+    }
+
+    /**
+     * Join several results into one, keeping their order
+     * @param distinct Keep only the first of tickets with the same flights and price
+     */
+    public static ColumnarSearchResult concat(List<ColumnarSearchResult> parts, boolean distinct) {
+        if (parts.size() == 1 && !distinct) {
+            return parts.get(0);
+        }
+        List<FlightTicket> tickets = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Instant oldest = Instant.now();
+        for (ColumnarSearchResult part : parts) {
+            for (int row = 0; row < part.size; row++) {
+                if (!distinct || seen.add(part.itinerary(row))) {
+                    tickets.add(part.ticket(row));
+                }
+            }
+            if (!part.isEmpty() && part.fetchedAt.isBefore(oldest)) {
+                oldest = part.fetchedAt;
+            }
+        }
+        ColumnarSearchResult joined = of(tickets);
+        joined.fetchedAt = oldest;
+        return joined;
+    }
+
+    /**
+     * @return the lowest ticket price, or null if no ticket has a price
+     */
+    public BigDecimal lowestPrice() {
+        int cheapest = -1;
+        for (int row = 0; row < size; row++) {
+            if (priceCents[row] != NO_PRICE && (cheapest < 0 || priceCents[row] < priceCents[cheapest])) {
+                cheapest = row;
+            }
+        }
+        return cheapest < 0 ? null : price(cheapest);
+    }
+
+    /**
+     * Rebuild the ticket in the given row
+     */
+    public FlightTicket ticket(int row) {
+        FlightTicket ticket = new FlightTicket();
+        ticket.setRoundTrip((flags[row] & ROUND_TRIP) != 0);
+        ticket.setOrigin(decode(origin[row]));
+        ticket.setDestination(decode(destination[row]));
+        ticket.setDepartureTime(toDateTime(departure[row]));
+        ticket.setArrivalTime(toDateTime(arrival[row]));
+        ticket.setReturnDepartureTime(toDateTime(returnDeparture[row]));
+        ticket.setReturnArrivalTime(toDateTime(returnArrival[row]));
+        ticket.setAirline(decode(airline[row]));
+        ticket.setStops(stops[row]);
+        ticket.setBaggage(decode(baggage[row]));
+        ticket.setTravelClass(decode(travelClass[row]));
+        ticket.setDuration(decode(duration[row]));
+        if (priceCents[row] != NO_PRICE) {
+            ticket.setCost(price(row));
+        }
+        if ((flags[row] & HAS_OUTBOUND_SEGMENTS) != 0) {
+            ticket.setOutboundSegments(decodeSegments(segmentOffsets[2 * row], segmentOffsets[2 * row + 1]));
+        }
+        if ((flags[row] & HAS_RETURN_SEGMENTS) != 0) {
+            ticket.setReturnSegments(decodeSegments(segmentOffsets[2 * row + 1], segmentOffsets[2 * row + 2]));
+        }
+        return ticket;
+    }
+
+    /**
+     * Rebuild the tickets in rows[from] to rows[to - 1]
+     */
+    public List<FlightTicket> tickets(int[] rows, int from, int to) {
+        List<FlightTicket> tickets = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            tickets.add(ticket(rows[i]));
+        }
+        return tickets;
+    }
+
+    /**
+     * Rebuild every ticket, in result order
+     */
+    public List<FlightTicket> tickets() {
+        List<FlightTicket> tickets = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            tickets.add(ticket(row));
+        }
+        return tickets;
+    }
+
+    // Column access for SearchResultRefiner
+
+    int dictionarySize() {
+        return dictionary.length;
+    }
+
+    String code(int code) {
+        return decode(code);
+    }
+
+    int airline(int row) {
+        return airline[row];
+    }
+
+    int outboundSegmentStart(int row) {
+        return segmentOffsets[2 * row];
+    }
+
+    int outboundSegmentEnd(int row) {
+        return segmentOffsets[2 * row + 1];
+    }
+
+    int segmentAirline(int segment) {
+        return segmentAirline[segment];
+    }
+
+    long priceCents(int row) {
+        return priceCents[row];
+    }
+
+    int stops(int row) {
+        return stops[row];
+    }
+
+    long departureEpochMinute(int row) {
+        return departure[row];
+    }
+
+    int departureMinuteOfDay(int row) {
+        return departure[row] == NO_TIME ? -1 : (int) Math.floorMod(departure[row], MINUTES_PER_DAY);
+    }
+
+    int durationMinutes(int row) {
+        return durationMinutes[row];
+    }
+
+    /**
+     * Duration in minutes from a "5h 7m" duration string
+     * @return the duration, or NO_DURATION if there is none
+     */
+    static int parseDurationMinutes(String duration) {
+        if (duration == null || duration.isEmpty()) {
+            return NO_DURATION;
+        }
+
+        int minutes = 0;
+        int value = 0;
+        boolean digits = false;
+        for (int i = 0; i < duration.length(); i++) {
+            char c = duration.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits = true;
+            } else if ((c == 'h' || c == 'H') && digits) {
+                minutes += value * 60;
+                value = 0;
+                digits = false;
+            } else if ((c == 'm' || c == 'M') && digits) {
+                minutes += value;
+                value = 0;
+                digits = false;
+            }
+        }
+        return minutes;
+    }
+
+    private static int encodeSegments(List<FlightTicket.FlightSegment> segments, ColumnarSearchResult columns,
+                                      int segment, Map<String, Integer> codes, List<String> dictionary) {
+        if (segments == null) {
+            return segment;
+        }
+        for (FlightTicket.FlightSegment flightSegment : segments) {
+            columns.segmentDepartureAirport[segment] = encode(flightSegment.getDepartureAirport(), codes, dictionary);
+            columns.segmentArrivalAirport[segment] = encode(flightSegment.getArrivalAirport(), codes, dictionary);
+            columns.segmentDepartureTime[segment] = toEpochMinute(flightSegment.getDepartureTime());
+            columns.segmentArrivalTime[segment] = toEpochMinute(flightSegment.getArrivalTime());
+            columns.segmentAirline[segment] = encode(flightSegment.getAirline(), codes, dictionary);
+            columns.segmentFlightNumber[segment] = encode(flightSegment.getFlightNumber(), codes, dictionary);
+            columns.segmentDuration[segment] = encode(flightSegment.getDuration(), codes, dictionary);
+            columns.segmentAircraft[segment] = encode(flightSegment.getAircraft(), codes, dictionary);
+            columns.segmentTerminal[segment] = encode(flightSegment.getTerminal(), codes, dictionary);
+            columns.segmentGate[segment] = encode(flightSegment.getGate(), codes, dictionary);
+            segment++;
+        }
+        return segment;
+    }
+
+    /**
+     * Identity of a ticket for de-duplication: its flights in order, and its price
+     */
+    private String itinerary(int row) {
+        StringBuilder itinerary = new StringBuilder()
+                .append(decode(origin[row])).append('-').append(decode(destination[row]))
+                .append('@').append(departure[row])
+                .append('/').append(decode(airline[row]))
+                .append('$').append(priceCents[row]);
+        for (int segment = segmentOffsets[2 * row]; segment < segmentOffsets[2 * row + 2]; segment++) {
+            itinerary.append('|').append(decode(segmentAirline[segment]))
+                    .append(decode(segmentFlightNumber[segment]))
+                    .append('@').append(segmentDepartureTime[segment]);
+        }
+        return itinerary.toString();
+    }
+
+    private BigDecimal price(int row) {
+        return BigDecimal.valueOf(priceCents[row], 2).setScale(priceScale[row], RoundingMode.UNNECESSARY);
+    }
+
+    private List<FlightTicket.FlightSegment> decodeSegments(int from, int to) {
+        List<FlightTicket.FlightSegment> segments = new ArrayList<>(to - from);
+        for (int segment = from; segment < to; segment++) {
+            segments.add(FlightTicket.FlightSegment.builder()
+                    .departureAirport(decode(segmentDepartureAirport[segment]))
+                    .arrivalAirport(decode(segmentArrivalAirport[segment]))
+                    .departureTime(toDateTime(segmentDepartureTime[segment]))
+                    .arrivalTime(toDateTime(segmentArrivalTime[segment]))
+                    .airline(decode(segmentAirline[segment]))
+                    .flightNumber(decode(segmentFlightNumber[segment]))
+                    .duration(decode(segmentDuration[segment]))
+                    .aircraft(decode(segmentAircraft[segment]))
+                    .terminal(decode(segmentTerminal[segment]))
+                    .gate(decode(segmentGate[segment]))
+                    .build());
+        }
+        return segments;
+    }
+
+    private static int encode(String value, Map<String, Integer> codes, List<String> dictionary) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        return codes.computeIfAbsent(value, newValue -> {
+            dictionary.add(newValue);
+            return dictionary.size() - 1;
+        });
+    }
+
+    private String decode(int code) {
+        return code == NO_CODE ? null : dictionary[code];
+    }
+
+    private static int count(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    private static void writeBytes(DataOutput out, byte[] column) throws IOException {
+        out.write(column);
+    }
+
+    private static void writeInts(DataOutput out, int[] column) throws IOException {
+        for (int value : column) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeLongs(DataOutput out, long[] column) throws IOException {
+        for (long value : column) {
+            out.writeLong(value);
+        }
+    }
+
+    private static void readBytes(DataInput in, byte[] column) throws IOException {
+        in.readFully(column);
+    }
+
+    private static void readInts(DataInput in, int[] column) throws IOException {
+        for (int i = 0; i < column.length; i++) {
+            column[i] = in.readInt();
+        }
+    }
+
+    private static void readLongs(DataInput in, long[] column) throws IOException {
+        for (int i = 0; i < column.length; i++) {
+            column[i] = in.readLong();
+        }
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime == null ? NO_TIME : Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime toDateTime(long epochMinute) {
+        return epochMinute == NO_TIME ? null : LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,108 @@
+package com.aim.search;
+
+import com.aim.config.ApiConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded, TTL-based cache of parsed upstream search results, held in columnar form.
+ * Entries expire a TTL after their data was fetched, so results reloaded from disk keep their age.
+ * Entries are weighted by ticket count so a few very large searches cannot crowd out the heap.
+ * Hit/miss/eviction metrics are published as cache.* meters with cache=flightSearch.
+ */
+@Component
+@Slf4j
+public class FlightSearchCache {
+
+    public static final String CACHE_NAME = "flightSearch";
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Cache<FlightSearchKey, ColumnarSearchResult> cache;
+
+    public FlightSearchCache(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        ApiConfig.SearchCache config = apiConfig.getSearchCache();
+        this.enabled = config.isEnabled();
+        this.ttl = config.getTtl();
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(new Expiry<FlightSearchKey, ColumnarSearchResult>() {
+                    @Override
+                    public long expireAfterCreate(FlightSearchKey key, ColumnarSearchResult results, long currentTime) {
+                        return Math.max(0, ttl.minus(ageOf(results)).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(FlightSearchKey key, ColumnarSearchResult results,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, results, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(FlightSearchKey key, ColumnarSearchResult results,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .maximumWeight(config.getMaxWeight())
+                .weigher((FlightSearchKey key, ColumnarSearchResult results) -> Math.max(1, results.size()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        log.info("Flight search cache enabled: {} (ttl: {}, max weight: {})",
+                enabled, config.getTtl(), config.getMaxWeight());
+    }
+
+    /**
+     * Get the cached results of a search
+     * @return the cached results, or null if the search is not cached
+     */
+    public ColumnarSearchResult getIfPresent(FlightSearchKey key) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Cache the results of a search. Empty results are not cached so that a
+     * transient upstream failure is retried on the next request.
+     */
+    public void put(FlightSearchKey key, ColumnarSearchResult results) {
+        if (!enabled || results == null || results.isEmpty()) {
+            return;
+        }
+        cache.put(key, results);
+    }
+
+    /**
+     * Get how long ago the data of a cached search was fetched
+     * @return the age of the cached entry, or null if the search is not cached
+     */
+    public Duration age(FlightSearchKey key) {
+        ColumnarSearchResult results = cache.policy().getIfPresentQuietly(key);
+        return results == null ? null : ageOf(results);
+    }
+
+    private static Duration ageOf(ColumnarSearchResult results) {
+        Duration age = Duration.between(results.getFetchedAt(), Instant.now());
+        return age.isNegative() ? Duration.ZERO : age;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,55 @@
+package com.aim.search;
+
+import com.aim.dto.TicketSearchRequest;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Identifies an upstream flight search independently of pagination,
+ * so every page of the same search maps to the same cache entry.
+ * A flexible-date search has its own key; each day it searches uses the key of that exact-date search.
+ */
+@Value
+public class FlightSearchKey {
+    String origin;
+    String destination;
+    LocalDate departureDate;
+    LocalDate returnDate;
+    int passengers;
+    boolean roundTrip;
+    int flexibleDays;
+
+    public static FlightSearchKey from(TicketSearchRequest request) {
+        // Return date only affects the upstream query for round trips
+        LocalDate returnDate = request.isRoundTrip() ? request.getReturnDate() : null;
+        return new FlightSearchKey(
+                normalize(request.getOrigin()),
+                normalize(request.getDestination()),
+                request.getDepartureDate(),
+                returnDate,
+                request.getPassengers(),
+                request.isRoundTrip(),
+                request.getFlexibleDays());
+    }
+
+    /**
+     * Rebuild the upstream query of this key, for searches made without a client request
+     */
+    public TicketSearchRequest toSearchRequest() {
+        TicketSearchRequest request = new TicketSearchRequest();
+        request.setOrigin(origin);
+        request.setDestination(destination);
+        request.setDepartureDate(departureDate);
+        request.setReturnDate(returnDate);
+        request.setRoundTrip(roundTrip);
+        request.setPassengers(passengers);
+        request.setFlexibleDays(flexibleDays);
+        return request;
+    }
+
+    private static String normalize(String code) {
+        return code == null ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+}
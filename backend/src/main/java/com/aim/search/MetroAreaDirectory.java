@@ -0,0 +1,63 @@
+package com.aim.search;
+
+import com.aim.config.ApiConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps IATA metropolitan area codes (NYC, LON...) to the airports that serve them.
+ * Codes that share their name with an airport (e.g. SHA, HOU) are left out, so they keep
+ * meaning the airport. Entries in app.api.metro-areas add to or replace the built-in table.
+ */
+@Component
+@Slf4j
+public class MetroAreaDirectory {
+
+    private static final Map<String, List<String>> DEFAULT_METRO_AREAS = Map.ofEntries(
+            Map.entry("NYC", List.of("JFK", "EWR", "LGA")),
+            Map.entry("WAS", List.of("IAD", "DCA", "BWI")),
+            Map.entry("CHI", List.of("ORD", "MDW")),
+            Map.entry("DTT", List.of("DTW")),
+            Map.entry("YTO", List.of("YYZ", "YTZ")),
+            Map.entry("YMQ", List.of("YUL")),
+            Map.entry("SAO", List.of("GRU", "CGH", "VCP")),
+            Map.entry("RIO", List.of("GIG", "SDU")),
+            Map.entry("BUE", List.of("EZE", "AEP")),
+            Map.entry("LON", List.of("LHR", "LGW", "STN", "LTN", "LCY", "SEN")),
+            Map.entry("PAR", List.of("CDG", "ORY", "BVA")),
+            Map.entry("MIL", List.of("MXP", "LIN", "BGY")),
+            Map.entry("ROM", List.of("FCO", "CIA")),
+            Map.entry("STO", List.of("ARN", "BMA", "NYO")),
+            Map.entry("MOW", List.of("SVO", "DME", "VKO")),
+            Map.entry("TYO", List.of("HND", "NRT")),
+            Map.entry("OSA", List.of("KIX", "ITM")),
+            Map.entry("SEL", List.of("ICN", "GMP")),
+            Map.entry("BJS", List.of("PEK", "PKX"))
+    );
+
+    private final Map<String, List<String>> metroAreas;
+
+    public MetroAreaDirectory(ApiConfig apiConfig) {
+        Map<String, List<String>> metroAreas = new HashMap<>(DEFAULT_METRO_AREAS);
+        apiConfig.getMetroAreas().forEach((code, airports) -> metroAreas.put(
+                code.trim().toUpperCase(Locale.ROOT),
+                airports.stream().map(airport -> airport.trim().toUpperCase(Locale.ROOT)).toList()));
+        this.metroAreas = Map.copyOf(metroAreas);
+        log.info("Loaded {} metro areas", this.metroAreas.size());
+    }
+
+    /**
+     * Get the airports to search for a code
+     * @param code A normalized airport or metro area code
+     * @return the metro area's airports, or just the code itself if it is not a metro area
+     */
+    public List<String> airports(String code) {
+        List<String> airports = metroAreas.get(code);
+        return airports != null && !airports.isEmpty() ? airports : List.of(code);
+    }
+}
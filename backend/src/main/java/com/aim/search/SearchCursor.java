@@ -0,0 +1,50 @@
+package com.aim.search;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque pagination cursor pointing at an offset within a search snapshot, as refined by the
+ * filters and sort order whose fingerprint it carries (see SearchResultRefiner.fingerprint).
+ * Clients pass it back unchanged; its encoding is not part of the API.
+ */
+@Value
+public class SearchCursor {
+
+    private static final char SEPARATOR = ':';
+
+    String searchId;
+    String refinement;
+    int offset;
+
+    public String encode() {
+        String raw = searchId + SEPARATOR + refinement + SEPARATOR + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously returned to a client
+     * @return the cursor, or null if the value is not a cursor issued by this service
+     */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int offsetSeparator = raw.lastIndexOf(SEPARATOR);
+            int refinementSeparator = offsetSeparator <= 0 ? -1 : raw.lastIndexOf(SEPARATOR, offsetSeparator - 1);
+            if (refinementSeparator <= 0) {
+                return null;
+            }
+            int offset = Integer.parseInt(raw.substring(offsetSeparator + 1));
+            return offset < 0 ? null : new SearchCursor(raw.substring(0, refinementSeparator),
+                    raw.substring(refinementSeparator + 1, offsetSeparator), offset);
+        } catch (IllegalArgumentException e) {
+            // Covers malformed Base64 as well as a non-numeric offset
+            return null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.aim.search;
+
+import com.aim.config.ApiConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides per search whether to collect a diagnostic trace.
+ * Traces go to the "search.diagnostics" logger, which logback-spring.xml routes
+ * through a bounded, non-blocking async appender.
+ */
+@Component
+@Slf4j
+public class SearchDiagnostics {
+
+    public static final String LOGGER_NAME = "search.diagnostics";
+
+    private static final Logger diagnosticsLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final double sampleRate;
+
+    public SearchDiagnostics(ApiConfig apiConfig) {
+        this.sampleRate = apiConfig.getDiagnostics().getSampleRate();
+        if (sampleRate > 0) {
+            log.info("Search diagnostics enabled for {}% of searches", sampleRate * 100);
+        }
+    }
+
+    /**
+     * Start a trace for a search
+     * @return a live trace for sampled searches, otherwise the shared no-op trace
+     */
+    public SearchTrace start(FlightSearchKey key) {
+        if (sampleRate <= 0) {
+            return SearchTrace.DISABLED;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return SearchTrace.DISABLED;
+        }
+        if (!diagnosticsLog.isInfoEnabled()) {
+            return SearchTrace.DISABLED;
+        }
+        return new SearchTrace(diagnosticsLog, key, System.nanoTime());
+    }
+}
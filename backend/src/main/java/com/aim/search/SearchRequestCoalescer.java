@@ -0,0 +1,66 @@
+package com.aim.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight deduplication of upstream searches: concurrent callers with the same
+ * FlightSearchKey share one upstream call and are all released when it completes.
+ */
+@Component
+@Slf4j
+public class SearchRequestCoalescer {
+
+    private final Map<FlightSearchKey, CompletableFuture<ColumnarSearchResult>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstreamCalls;
+    private final Counter coalescedCalls;
+
+    public SearchRequestCoalescer(MeterRegistry meterRegistry) {
+        this.upstreamCalls = Counter.builder("flight.search.upstream.calls")
+                .description("Searches that triggered an upstream call")
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder("flight.search.coalesced")
+                .description("Searches that joined an identical in-flight upstream call")
+                .register(meterRegistry);
+        Gauge.builder("flight.search.inflight", inFlight, Map::size)
+                .description("Distinct upstream searches currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the loader for this key, or join the identical call that is already in flight.
+     * The upstream call is not tied to the first subscriber, so a cancelled request does
+     * not fail the callers waiting on it.
+     * @param key The search key
+     * @param loader The upstream call, only subscribed for the first caller for the key
+     * @return Mono emitting the loader's result, shared by every caller for the key
+     */
+    public Mono<ColumnarSearchResult> execute(FlightSearchKey key, Supplier<Mono<ColumnarSearchResult>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<ColumnarSearchResult> call = new CompletableFuture<>();
+            CompletableFuture<ColumnarSearchResult> existing = inFlight.putIfAbsent(key, call);
+
+            if (existing != null) {
+                coalescedCalls.increment();
+                log.debug("Joining in-flight search for {}", key);
+                return Mono.fromFuture(existing, true);
+            }
+
+            upstreamCalls.increment();
+            call.whenComplete((result, error) -> inFlight.remove(key, call));
+            Mono.defer(loader)
+                    .defaultIfEmpty(ColumnarSearchResult.EMPTY)
+                    .subscribe(call::complete, call::completeExceptionally);
+            return Mono.fromFuture(call, true);
+        });
+    }
+}
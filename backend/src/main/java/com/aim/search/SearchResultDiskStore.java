@@ -0,0 +1,225 @@
+package com.aim.search;
+
+import com.aim.config.ApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Optional on-disk tier behind the search cache, so cached searches survive a restart.
+ * Each search is one file in app.api.search-disk-cache.directory holding its columns in binary form.
+ * Files are only read when a search misses the in-memory cache, and entries older than the
+ * search cache TTL are never served. Reads and writes block; callers keep them off request threads.
+ */
+@Component
+@Slf4j
+public class SearchResultDiskStore {
+
+    private static final int MAGIC = 0x41494D53; // "AIMS"
+    private static final int FORMAT_VERSION = 1;
+    private static final String SUFFIX = ".bin";
+    private static final String TEMP_PREFIX = "search";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter writes;
+    private final CodeDictionary codeDictionary;
+
+    public SearchResultDiskStore(ApiConfig apiConfig, CodeDictionary codeDictionary, MeterRegistry meterRegistry) {
+        ApiConfig.SearchDiskCache config = apiConfig.getSearchDiskCache();
+        this.enabled = config.isEnabled();
+        this.directory = Path.of(config.getDirectory());
+        this.ttl = apiConfig.getSearchCache().getTtl();
+        this.maxEntries = config.getMaxEntries();
+        this.codeDictionary = codeDictionary;
+        this.hits = Counter.builder("flight.search.disk.hits")
+                .description("Searches that missed memory and were read from the disk cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("flight.search.disk.misses")
+                .description("Searches that missed both memory and the disk cache")
+                .register(meterRegistry);
+        this.writes = Counter.builder("flight.search.disk.writes")
+                .description("Search results written to the disk cache")
+                .register(meterRegistry);
+
+        log.info("Search disk cache enabled: {} (directory: {}, max entries: {})", enabled, directory, maxEntries);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Read a search from disk
+     * @return the results, or null if the search is not on disk, has expired or cannot be read
+     */
+    public ColumnarSearchResult read(FlightSearchKey key) {
+        if (!enabled) {
+            return null;
+        }
+
+        Path file = file(key);
+        try (InputStream stream = Files.newInputStream(file)) {
+            long length = Files.size(file);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(key.toString())) {
+                misses.increment();
+                return null;
+            }
+            ColumnarSearchResult results = ColumnarSearchResult.readFrom(in, length, codeDictionary);
+            if (Duration.between(results.getFetchedAt(), Instant.now()).compareTo(ttl) >= 0) {
+                delete(file);
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return results;
+        } catch (NoSuchFileException e) {
+            misses.increment();
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Discarding unreadable search cache file {}: {}", file, e.getMessage());
+            delete(file);
+            misses.increment();
+            return null;
+        }
+    }
+
+    /**
+     * Write a search to disk, replacing any earlier copy. Empty results are not written.
+     */
+    public void write(FlightSearchKey key, ColumnarSearchResult results) {
+        if (!enabled || results == null || results.isEmpty()) {
+            return;
+        }
+
+        Path file = file(key);
+        Path temp = null;
+        boolean moved = false;
+        try {
+            Files.createDirectories(directory);
+            // Write aside and move into place, so readers never see a partial file
+            temp = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+            try (OutputStream stream = Files.newOutputStream(temp)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(key.toString());
+                results.writeTo(out);
+                out.flush();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+            writes.increment();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write search cache file {}: {}", file, e.getMessage());
+        } finally {
+            if (temp != null && !moved) {
+                delete(temp);
+            }
+        }
+    }
+
+    /**
+     * Delete expired files, then the oldest files beyond app.api.search-disk-cache.max-entries.
+     * Temporary files older than the TTL are left from writes that never finished and are deleted too.
+     */
+    @Scheduled(fixedDelayString = "${app.api.search-disk-cache.purge-interval:PT10M}")
+    public void purge() {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return;
+        }
+
+        Instant expiredBefore = Instant.now().minus(ttl);
+        List<Path> files;
+        List<Path> abandoned;
+        try (Stream<Path> listing = Files.list(directory)) {
+            List<Path> all = listing.toList();
+            files = all.stream()
+                    .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(SearchResultDiskStore::lastModified).reversed())
+                    .toList();
+            abandoned = all.stream()
+                    .filter(path -> isTempFile(path) && lastModified(path).isBefore(expiredBefore))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list search cache directory {}: {}", directory, e.getMessage());
+            return;
+        }
+
+        abandoned.forEach(SearchResultDiskStore::delete);
+        int deleted = abandoned.size();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            if (i >= maxEntries || lastModified(file).isBefore(expiredBefore)) {
+                delete(file);
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            log.debug("Purged {} of {} search cache files", deleted, files.size() + abandoned.size());
+        }
+    }
+
+    private static boolean isTempFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(TEMP_PREFIX) && name.endsWith(TEMP_SUFFIX);
+    }
+
+    private Path file(FlightSearchKey key) {
+        return directory.resolve(hash(key.toString()) + SUFFIX);
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete search cache file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.aim.search;
+
+import com.aim.config.ApiConfig;
+import com.aim.dto.SearchFacets;
+import com.aim.dto.SearchSort;
+import com.aim.dto.TicketSearchRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the filters and sort order of a search request to a search's results.
+ * Facets are counted over all results in the same pass that applies the filters.
+ * Works on the primitive columns of the result; no tickets are built here.
+ * Refinements of a snapshot are cached by searchId and filter/sort fingerprint, so later pages of
+ * the same refined search only build their own tickets. Metrics are published as cache.* meters
+ * with cache=searchRefinements.
+ */
+@Component
+public class SearchResultRefiner {
+
+    // Sorting packs (sort value, row) into one long so rows can be sorted as primitives
+    private static final int ROW_BITS = 24;
+    private static final long ROW_MASK = (1L << ROW_BITS) - 1;
+    private static final long UNKNOWN_SORT_VALUE = (1L << (63 - ROW_BITS)) - 1;
+
+    public static final String CACHE_NAME = "searchRefinements";
+
+    private final long priceBucketCents;
+    private final Cache<String, RefinedResults> refinements;
+
+    public SearchResultRefiner(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.priceBucketCents = apiConfig.getPriceBucketWidth().movePointRight(2).longValueExact();
+        ApiConfig.SearchSnapshots config = apiConfig.getSearchSnapshots();
+        this.refinements = Caffeine.newBuilder()
+                .expireAfterAccess(config.getTtl())
+                .maximumWeight(config.getMaxRefinedRows())
+                .weigher((String key, RefinedResults refined) -> Math.max(1, refined.getRows().length))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, refinements, CACHE_NAME);
+    }
+
+    /**
+     * Refine a snapshot, reusing an earlier refinement of it with the same filters and sort order
+     */
+    public RefinedResults refine(SearchSnapshot snapshot, TicketSearchRequest request) {
+        return refinements.get(snapshot.getSearchId() + ':' + fingerprint(request),
+                key -> refine(snapshot.getResults(), request));
+    }
+
+    /**
+     * Short hash of the filters and sort order of a request. Requests that refine a search the same way
+     * have the same fingerprint; cursors carry it so a page offset is never read against another order.
+     */
+    public static String fingerprint(TicketSearchRequest request) {
+        String airlines = request.getAirlines() == null ? "" : request.getAirlines().stream()
+                .map(airline -> airline.trim().toUpperCase(Locale.ROOT))
+                .sorted()
+                .collect(Collectors.joining(","));
+        String canonical = String.join("|",
+                airlines,
+                request.getMaxPrice() == null ? "" : request.getMaxPrice().stripTrailingZeros().toPlainString(),
+                String.valueOf(request.getMaxStops()),
+                String.valueOf(request.getDepartureAfter()),
+                String.valueOf(request.getDepartureBefore()),
+                String.valueOf(request.getMaxDurationMinutes()),
+                String.valueOf(request.getSortBy()),
+                String.valueOf(request.getSortBy() != null && request.isSortDescending()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public RefinedResults refine(ColumnarSearchResult results, TicketSearchRequest request) {
+        int size = results.size();
+        boolean[] allowedAirlines = allowedAirlines(results, request.getAirlines());
+        long maxPriceCents = request.getMaxPrice() == null ? Long.MAX_VALUE
+                : request.getMaxPrice().movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue();
+        int departureAfter = request.getDepartureAfter() == null ? -1 : minuteOfDay(request.getDepartureAfter());
+        int departureBefore = request.getDepartureBefore() == null ? -1 : minuteOfDay(request.getDepartureBefore());
+
+        long[] airlineCounts = new long[results.dictionarySize()];
+        Map<Integer, Long> stopCounts = new TreeMap<>();
+        Map<Long, Long> priceBucketCounts = new TreeMap<>();
+        int[] rows = new int[size];
+        int matching = 0;
+
+        for (int row = 0; row < size; row++) {
+            int airline = results.airline(row);
+            long priceCents = results.priceCents(row);
+            if (airline != ColumnarSearchResult.NO_CODE) {
+                airlineCounts[airline]++;
+            }
+            stopCounts.merge(results.stops(row), 1L, Long::sum);
+            if (priceCents != ColumnarSearchResult.NO_PRICE) {
+                priceBucketCounts.merge(Math.floorDiv(priceCents, priceBucketCents), 1L, Long::sum);
+            }
+
+            if (request.getMaxPrice() != null
+                    && (priceCents == ColumnarSearchResult.NO_PRICE || priceCents > maxPriceCents)) {
+                continue;
+            }
+            if (request.getMaxStops() != null && results.stops(row) > request.getMaxStops()) {
+                continue;
+            }
+            if (allowedAirlines != null && !matchesAirline(results, row, allowedAirlines)) {
+                continue;
+            }
+            if (departureAfter >= 0 || departureBefore >= 0) {
+                int departure = results.departureMinuteOfDay(row);
+                if (departure < 0 || departure < departureAfter
+                        || (departureBefore >= 0 && departure > departureBefore)) {
+                    continue;
+                }
+            }
+            if (request.getMaxDurationMinutes() != null) {
+                int minutes = results.durationMinutes(row);
+                if (minutes == ColumnarSearchResult.NO_DURATION || minutes > request.getMaxDurationMinutes()) {
+                    continue;
+                }
+            }
+            rows[matching++] = row;
+        }
+
+        rows = Arrays.copyOf(rows, matching);
+        if (request.getSortBy() != null) {
+            sort(results, rows, request.getSortBy(), request.isSortDescending());
+        }
+
+        SearchFacets facets = new SearchFacets(
+                airlineFacet(results, airlineCounts), stopCounts, histogram(priceBucketCounts));
+        return new RefinedResults(rows, facets);
+    }
+
+    private static boolean matchesAirline(ColumnarSearchResult results, int row, boolean[] allowedAirlines) {
+        int airline = results.airline(row);
+        if (airline != ColumnarSearchResult.NO_CODE && allowedAirlines[airline]) {
+            return true;
+        }
+        // Real tickets carry carrier codes on their segments as well
+        for (int segment = results.outboundSegmentStart(row); segment < results.outboundSegmentEnd(row); segment++) {
+            int segmentAirline = results.segmentAirline(segment);
+            if (segmentAirline != ColumnarSearchResult.NO_CODE && allowedAirlines[segmentAirline]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sort rows by packing each row's sort value and row number into one long, so the sort runs over
+     * primitives and ties keep the original order. Rows without a value always sort last.
+     */
+    private static void sort(ColumnarSearchResult results, int[] rows, SearchSort sortBy, boolean descending) {
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            long value = sortValue(results, rows[i], sortBy);
+            if (value != UNKNOWN_SORT_VALUE && descending) {
+                value = UNKNOWN_SORT_VALUE - 1 - value;
+            }
+            keys[i] = (value << ROW_BITS) | rows[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = (int) (keys[i] & ROW_MASK);
+        }
+    }
+
+    private static long sortValue(ColumnarSearchResult results, int row, SearchSort sortBy) {
+        long value = switch (sortBy) {
+            case PRICE -> results.priceCents(row) == ColumnarSearchResult.NO_PRICE ? -1 : results.priceCents(row);
+            case DURATION -> results.durationMinutes(row);
+            case DEPARTURE -> results.departureEpochMinute(row) == ColumnarSearchResult.NO_TIME
+                    ? -1 : results.departureEpochMinute(row);
+        };
+        return value < 0 || value >= UNKNOWN_SORT_VALUE ? UNKNOWN_SORT_VALUE : value;
+    }
+
+    private static boolean[] allowedAirlines(ColumnarSearchResult results, Set<String> airlines) {
+        if (airlines == null || airlines.isEmpty()) {
+            return null;
+        }
+        Set<String> normalized = airlines.stream()
+                .map(airline -> airline.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        boolean[] allowed = new boolean[results.dictionarySize()];
+        for (int code = 0; code < allowed.length; code++) {
+            allowed[code] = normalized.contains(results.code(code).toUpperCase(Locale.ROOT));
+        }
+        return allowed;
+    }
+
+    private static Map<String, Long> airlineFacet(ColumnarSearchResult results, long[] airlineCounts) {
+        Map<String, Long> airlines = new TreeMap<>();
+        for (int code = 0; code < airlineCounts.length; code++) {
+            if (airlineCounts[code] > 0) {
+                airlines.put(results.code(code), airlineCounts[code]);
+            }
+        }
+        return airlines;
+    }
+
+    private List<SearchFacets.PriceBucket> histogram(Map<Long, Long> bucketCounts) {
+        List<SearchFacets.PriceBucket> histogram = new ArrayList<>(bucketCounts.size());
+        bucketCounts.forEach((bucket, count) -> {
+            BigDecimal from = BigDecimal.valueOf(bucket * priceBucketCents, 2).stripTrailingZeros();
+            BigDecimal to = BigDecimal.valueOf((bucket + 1) * priceBucketCents, 2).stripTrailingZeros();
+            histogram.add(new SearchFacets.PriceBucket(from.setScale(Math.max(0, from.scale())),
+                    to.setScale(Math.max(0, to.scale())), count));
+        });
+        return histogram;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Rows of the tickets that passed the filters, in the requested order, and the facets of the whole search
+     */
+    @Value
+    public static class RefinedResults {
+        int[] rows;
+        SearchFacets facets;
+    }
+}
@@ -0,0 +1,20 @@
+package com.aim.search;
+
+import com.aim.dto.PriceCalendarDay;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The materialized result of one search. Every page of the search is read from the same
+ * snapshot, so pages stay consistent with each other for as long as the snapshot lives.
+ */
+@Value
+public class SearchSnapshot {
+    String searchId;
+    FlightSearchKey key;
+    ColumnarSearchResult results;
+    List<PriceCalendarDay> priceCalendar; // null unless this is a flexible-date search
+    Instant createdAt;
+}
@@ -0,0 +1,87 @@
+package com.aim.search;
+
+import com.aim.config.ApiConfig;
+import com.aim.dto.PriceCalendarDay;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Holds search snapshots by searchId for a bounded time and total ticket count,
+ * so follow-up pages are read from memory instead of repeating the search.
+ * Searches answered by the same cached result share one snapshot, so its tickets are counted once.
+ * Metrics are published as cache.* meters with cache=searchSnapshots.
+ */
+@Component
+@Slf4j
+public class SearchSnapshotStore {
+
+    public static final String CACHE_NAME = "searchSnapshots";
+
+    private final Cache<String, SearchSnapshot> snapshots;
+    // searchId of the live snapshot of each result, keyed by identity and released with the result
+    private final Cache<ColumnarSearchResult, String> snapshotIds;
+
+    public SearchSnapshotStore(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        ApiConfig.SearchSnapshots config = apiConfig.getSearchSnapshots();
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(config.getTtl())
+                .maximumWeight(config.getMaxWeight())
+                .weigher((String searchId, SearchSnapshot snapshot) -> Math.max(1, snapshot.getResults().size()))
+                .recordStats()
+                .build();
+        this.snapshotIds = Caffeine.newBuilder()
+                .weakKeys()
+                .expireAfterWrite(config.getTtl())
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, CACHE_NAME);
+
+        log.info("Search snapshots enabled (ttl: {}, max weight: {})", config.getTtl(), config.getMaxWeight());
+    }
+
+    /**
+     * Store the result of a search under a searchId. A result that already has a live snapshot
+     * for the same search gets that snapshot back, with its TTL restarted.
+     */
+    public SearchSnapshot create(FlightSearchKey key, ColumnarSearchResult results) {
+        return create(key, results, null);
+    }
+
+    /**
+     * Store the result of a flexible-date search, with its price calendar, under a new searchId
+     */
+    public SearchSnapshot create(FlightSearchKey key, ColumnarSearchResult results, List<PriceCalendarDay> priceCalendar) {
+        if (priceCalendar == null) {
+            String searchId = snapshotIds.getIfPresent(results);
+            SearchSnapshot existing = searchId == null ? null : snapshots.getIfPresent(searchId);
+            if (existing != null && existing.getKey().equals(key)) {
+                snapshots.put(searchId, existing);
+                return existing;
+            }
+        }
+
+        SearchSnapshot snapshot = new SearchSnapshot(
+                UUID.randomUUID().toString(), key, results, priceCalendar, Instant.now());
+        snapshots.put(snapshot.getSearchId(), snapshot);
+        if (priceCalendar == null) {
+            snapshotIds.put(results, snapshot.getSearchId());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get a snapshot
+     * @return the snapshot, or null if it never existed or has expired
+     */
+    public SearchSnapshot get(String searchId) {
+        return searchId == null ? null : snapshots.getIfPresent(searchId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.aim.search;
+
+import com.aim.model.FlightTicket;
+import org.slf4j.Logger;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.List;
+
+/**
+ * Diagnostic record of one sampled search, written as a single structured log event when the
+ * search completes. Unsampled searches share the DISABLED instance, whose methods return
+ * immediately without building any strings.
+ */
+public final class SearchTrace {
+
+    static final SearchTrace DISABLED = new SearchTrace(null, null, 0);
+
+    // Number of tickets whose routing is included in the trace
+    private static final int DUMPED_TICKETS = 3;
+
+    private final Logger logger;
+    private final FlightSearchKey key;
+    private final long startNanos;
+    private String source;
+
+    SearchTrace(Logger logger, FlightSearchKey key, long startNanos) {
+        this.logger = logger;
+        this.key = key;
+        this.startNanos = startNanos;
+    }
+
+    public boolean isEnabled() {
+        return logger != null;
+    }
+
+    /**
+     * Record where the result came from (snapshot, cache, upstream, coalesced, mock)
+     */
+    public void source(String source) {
+        if (logger != null) {
+            this.source = source;
+        }
+    }
+
+    /**
+     * Emit the trace for the completed search
+     */
+    public void finish(ColumnarSearchResult results, int page, int pageSize) {
+        if (logger == null) {
+            return;
+        }
+
+        LoggingEventBuilder event = logger.atInfo()
+                .setMessage("search")
+                .addKeyValue("origin", key.getOrigin())
+                .addKeyValue("destination", key.getDestination())
+                .addKeyValue("departureDate", key.getDepartureDate())
+                .addKeyValue("returnDate", key.getReturnDate())
+                .addKeyValue("passengers", key.getPassengers())
+                .addKeyValue("source", source)
+                .addKeyValue("tickets", results.size())
+                .addKeyValue("page", page)
+                .addKeyValue("size", pageSize)
+                .addKeyValue("elapsedMicros", (System.nanoTime() - startNanos) / 1_000);
+
+        for (int i = 0; i < Math.min(DUMPED_TICKETS, results.size()); i++) {
+            event = event.addKeyValue("ticket" + i, describe(results.ticket(i)));
+        }
+        event.log();
+    }
+
+    private static String describe(FlightTicket ticket) {
+        StringBuilder description = new StringBuilder()
+                .append(ticket.getAirline()).append(' ')
+                .append(ticket.getCost()).append(' ');
+        appendRouting(description, ticket.getOutboundSegments());
+        if (ticket.getReturnSegments() != null) {
+            description.append(" / ");
+            appendRouting(description, ticket.getReturnSegments());
+        }
+        return description.toString();
+    }
+
+    private static void appendRouting(StringBuilder description, List<FlightTicket.FlightSegment> segments) {
+        if (segments == null || segments.isEmpty()) {
+            description.append("no segments");
+            return;
+        }
+        description.append(segments.get(0).getDepartureAirport());
+        for (FlightTicket.FlightSegment segment : segments) {
+            description.append('>').append(segment.getArrivalAirport());
+        }
+    }
+}
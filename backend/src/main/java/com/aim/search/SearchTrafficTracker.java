@@ -0,0 +1,131 @@
+package com.aim.search;
+
+import com.aim.config.ApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Tracks the most searched upstream keys with a Space-Saving heavy-hitters sketch: at most
+ * app.api.cache-warmer.tracked-keys counters are kept, and a new key takes over the counter of
+ * the least searched one. Counts are halved on every decay() so the ranking follows recent traffic.
+ * Request threads only hand keys over through a bounded queue (app.api.cache-warmer.tracking-queue-size);
+ * the sketch is updated off the request path by drain(), and keys arriving while the queue is full
+ * are dropped and counted in flight.search.tracked.dropped.
+ */
+@Component
+public class SearchTrafficTracker {
+
+    private final int capacity;
+    private final Map<FlightSearchKey, Count> counters;
+    private final BlockingQueue<FlightSearchKey> pending;
+    private final Counter dropped;
+
+    public SearchTrafficTracker(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.capacity = apiConfig.getCacheWarmer().getTrackedKeys();
+        this.counters = new HashMap<>(capacity * 2);
+        this.pending = new ArrayBlockingQueue<>(apiConfig.getCacheWarmer().getTrackingQueueSize());
+        this.dropped = Counter.builder("flight.search.tracked.dropped")
+                .description("Searches not counted because the tracking queue was full")
+                .register(meterRegistry);
+        Gauge.builder("flight.search.tracked.keys", this, SearchTrafficTracker::size)
+                .description("Searches tracked as warm-up candidates")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count one search for the key. Never blocks; the count is applied on the next drain().
+     */
+    public void record(FlightSearchKey key) {
+        if (!pending.offer(key)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Apply the searches recorded since the last drain to the sketch
+     */
+    @Scheduled(fixedDelayString = "${app.api.cache-warmer.drain-interval:PT1S}")
+    public synchronized void drain() {
+        FlightSearchKey key;
+        while ((key = pending.poll()) != null) {
+            count(key);
+        }
+    }
+
+    private void count(FlightSearchKey key) {
+        Count counter = counters.get(key);
+        if (counter != null) {
+            counter.count++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Count(1));
+            return;
+        }
+
+        // Replace the least searched key; the new key inherits its count as an overestimate
+        Map.Entry<FlightSearchKey, Count> least = null;
+        for (Map.Entry<FlightSearchKey, Count> entry : counters.entrySet()) {
+            if (least == null || entry.getValue().count < least.getValue().count) {
+                least = entry;
+            }
+        }
+        Count replaced = counters.remove(least.getKey());
+        replaced.count++;
+        counters.put(key, replaced);
+    }
+
+    /**
+     * Get the most searched keys
+     * @return up to limit keys, most searched first
+     */
+    public synchronized List<FlightSearchKey> top(int limit) {
+        drain();
+        List<Map.Entry<FlightSearchKey, Count>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().count, a.getValue().count));
+
+        List<FlightSearchKey> top = new ArrayList<>(Math.min(limit, entries.size()));
+        for (int i = 0; i < Math.min(limit, entries.size()); i++) {
+            top.add(entries.get(i).getKey());
+        }
+        return top;
+    }
+
+    /**
+     * Halve every count, dropping keys that are no longer searched
+     */
+    public synchronized void decay() {
+        drain();
+        Iterator<Count> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            Count counter = iterator.next();
+            counter.count /= 2;
+            if (counter.count == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return counters.size();
+    }
+
+    private static final class Count {
+        long count;
+
+        Count(long count) {
+            this.count = count;
+        }
+    }
+}
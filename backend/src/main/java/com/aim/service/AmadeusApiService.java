@@ -2,6 +2,7 @@ package com.aim.service;
 
 import com.aim.dto.TicketSearchRequest;
 import com.aim.model.FlightTicket;
+import reactor.core.publisher.Mono;
 import java.util.List;
 
 public interface AmadeusApiService {
@@ -13,6 +14,13 @@ public interface AmadeusApiService {
      */
     List<FlightTicket> searchRealTickets(TicketSearchRequest searchRequest);
     
+    /**
+     * Search for real flight tickets using Amadeus API without blocking the calling thread
+     * @param searchRequest The search criteria
+     * @return Mono emitting the real flight tickets from the API (empty list on failure)
+     */
+    Mono<List<FlightTicket>> searchRealTicketsReactive(TicketSearchRequest searchRequest);
+    
     /**
      * Check if the API is available and configured
      * @return true if API is available, false otherwise
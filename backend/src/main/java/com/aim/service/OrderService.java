@@ -0,0 +1,18 @@
+package com.aim.service;
+
+import com.aim.dto.OrderRequest;
+import com.aim.dto.OrderResponse;
+import com.aim.dto.OrderSummary;
+import com.aim.dto.PaginatedResponse;
+
+public interface OrderService {
+    OrderResponse createOrder(OrderRequest request);
+    
+    /**
+     * Get one page of a user's order history, newest first
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param size Orders per page, capped at 100
+     * @throws IllegalArgumentException if the cursor was not issued by this service
+     */
+    PaginatedResponse<OrderSummary> getOrderHistory(String userEmail, String cursor, int size);
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.aim.service;
+
+import com.aim.dto.FlightTicketSummary;
+import com.aim.dto.TicketSearchRequest;
+import com.aim.dto.PaginatedResponse;
+import com.aim.model.FlightTicket;
+import reactor.core.publisher.Mono;
+
+public interface TicketService {
+    
+    /**
+     * Search for available tickets based on the provided criteria with pagination
+     * @param searchRequest The search criteria including origin, destination, dates, trip type, and pagination parameters
+     * @return Paginated response with matching tickets
+     */
+    PaginatedResponse<FlightTicket> searchTickets(TicketSearchRequest searchRequest);
+    
+    /**
+     * Search for available tickets without blocking the calling thread while Amadeus responds
+     * @param searchRequest The search criteria including origin, destination, dates, trip type, and pagination parameters
+     * @return Mono emitting the paginated response with matching tickets
+     */
+    Mono<PaginatedResponse<FlightTicket>> searchTicketsReactive(TicketSearchRequest searchRequest);
+    
+    /**
+     * Get one page of a user's booked tickets, ordered by departure time
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param size Tickets per page, capped at 100
+     * @throws IllegalArgumentException if the cursor was not issued by this service
+     */
+    PaginatedResponse<FlightTicketSummary> getUserTickets(String userEmail, String cursor, int size);
+} 
\ No newline at end of file
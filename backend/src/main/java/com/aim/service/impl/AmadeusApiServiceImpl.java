@@ -0,0 +1,133 @@
+package com.aim.service.impl;
+
+import com.aim.config.ApiConfig;
+import com.aim.dto.TicketSearchRequest;
+import com.aim.model.FlightTicket;
+import com.aim.service.AmadeusApiService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AmadeusApiServiceImpl implements AmadeusApiService {
+
+    private final ApiConfig apiConfig;
+    private final WebClient webClient;
+    private final AmadeusTokenManager tokenManager;
+    private final AmadeusFlightOfferParser flightOfferParser;
+    private final CircuitBreaker amadeusCircuitBreaker;
+    private final Bulkhead amadeusBulkhead;
+
+    @Override
+    public List<FlightTicket> searchRealTickets(TicketSearchRequest searchRequest) {
+        // Synchronous adapter over the reactive pipeline for blocking callers
+        return searchRealTicketsReactive(searchRequest).block();
+    }
+
+    @Override
+    public Mono<List<FlightTicket>> searchRealTicketsReactive(TicketSearchRequest searchRequest) {
+        if (!isApiAvailable()) {
+            log.debug("Amadeus API is not available, returning empty list");
+            return Mono.just(new ArrayList<>());
+        }
+
+        return Mono.defer(() -> {
+            log.debug("Searching for flights from {} to {} on {}", 
+                    searchRequest.getOrigin(), searchRequest.getDestination(), searchRequest.getDepartureDate());
+            
+            // Build the search URL
+            String searchUrl = buildSearchUrl(searchRequest);
+            
+            // Get access token if needed, then make the API call
+            return tokenManager.getAccessToken()
+                    .flatMap(token -> fetchFlightOffers(searchUrl, token, searchRequest.isRoundTrip()));
+        })
+                // Bulkhead inside the circuit breaker, so shed calls never reach Amadeus
+                .transformDeferred(BulkheadOperator.of(amadeusBulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(amadeusCircuitBreaker))
+                .defaultIfEmpty(new ArrayList<>())
+                .onErrorResume(CallNotPermittedException.class, e -> {
+                    log.debug("Amadeus circuit breaker is open, skipping upstream search");
+                    return Mono.just(new ArrayList<>());
+                })
+                .onErrorResume(BulkheadFullException.class, e -> {
+                    log.debug("Too many concurrent Amadeus searches, skipping upstream search");
+                    return Mono.just(new ArrayList<>());
+                })
+                .onErrorResume(e -> {
+                    log.error("Error calling Amadeus API", e);
+                    return Mono.just(new ArrayList<>());
+                });
+    }
+
+    @Override
+    public boolean isApiAvailable() {
+        boolean available = apiConfig.getAmadeusClientId() != null && 
+               apiConfig.getAmadeusClientSecret() != null &&
+               !apiConfig.getAmadeusClientId().isEmpty() &&
+               !apiConfig.getAmadeusClientSecret().isEmpty();
+        
+        // Called on every search, so keep it quiet; the client ID is never logged
+        if (!available) {
+            log.debug("Amadeus API credentials are not properly configured");
+        }
+        
+        return available;
+    }
+
+    private Mono<List<FlightTicket>> fetchFlightOffers(String searchUrl, String token, boolean roundTrip) {
+        log.debug("Making Amadeus API call to: {}", searchUrl);
+        
+        // Offers are decoded as the body streams in, without buffering the whole response
+        Flux<DataBuffer> body = webClient.get()
+                .uri(searchUrl)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        
+        return flightOfferParser.parse(body, roundTrip)
+                .collectList()
+                .doOnNext(tickets -> log.debug("Parsed {} real flight tickets from Amadeus API", tickets.size()));
+    }
+
+    private String buildSearchUrl(TicketSearchRequest request) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        String departureDate = request.getDepartureDate().format(formatter);
+        
+        StringBuilder url = new StringBuilder("https://api.amadeus.com/v2")
+                .append("/shopping/flight-offers")
+                .append("?originLocationCode=").append(request.getOrigin())
+                .append("&destinationLocationCode=").append(request.getDestination())
+                .append("&departureDate=").append(departureDate)
+                .append("&adults=").append(request.getPassengers())
+                .append("&max=").append(apiConfig.getMaxSearchResults()); // Limit results
+
+        if (request.isRoundTrip() && request.getReturnDate() != null) {
+            String returnDate = request.getReturnDate().format(formatter);
+            url.append("&returnDate=").append(returnDate);
+        }
+
+        String searchUrl = url.toString();
+        log.debug("Built Amadeus search URL: {}", searchUrl);
+        return searchUrl;
+    }
+}
@@ -0,0 +1,492 @@
+package com.aim.service.impl;
+
+import com.aim.model.FlightTicket;
+import com.aim.search.CodeDictionary;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Token-based parser for Amadeus flight-offers responses.
+ * Bytes are fed to a non-blocking Jackson parser as they arrive from the network; only the
+ * tokens of the offer currently being read are buffered, and each offer is decoded straight
+ * into a FlightTicket, so memory per search no longer scales with the response size.
+ * Airport, carrier, aircraft and terminal codes are replaced by their shared CodeDictionary instance.
+ */
+@Component
+@Slf4j
+public class AmadeusFlightOfferParser {
+
+    // Depth of an offer object: root object (1) > "data" array (2) > offer (3)
+    private static final int OFFER_DEPTH = 3;
+
+    private final JsonFactory jsonFactory;
+    private final CodeDictionary codeDictionary;
+
+    public AmadeusFlightOfferParser(ObjectMapper objectMapper, CodeDictionary codeDictionary) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.codeDictionary = codeDictionary;
+    }
+
+    /**
+     * Parse a response body as it streams in
+     * @param body The raw response buffers, released once consumed
+     * @param roundTrip Whether the return itinerary should be parsed
+     * @return Flux emitting one ticket per parsable offer, in response order
+     */
+    public Flux<FlightTicket> parse(Flux<DataBuffer> body, boolean roundTrip) {
+        return Flux.defer(() -> {
+            OfferReader reader = newReader(roundTrip);
+            return body
+                    .concatMapIterable(buffer -> {
+                        try {
+                            return reader.feed(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .concatWith(Mono.fromCallable(reader::endOfInput).flatMapIterable(tickets -> tickets));
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Parse a complete response body held in memory
+     * @param body The response bytes
+     * @param roundTrip Whether the return itinerary should be parsed
+     * @return One ticket per parsable offer, in response order
+     */
+    public List<FlightTicket> parse(byte[] body, boolean roundTrip) {
+        OfferReader reader = newReader(roundTrip);
+        List<FlightTicket> tickets = new ArrayList<>(reader.feed(ByteBuffer.wrap(body)));
+        tickets.addAll(reader.endOfInput());
+        return tickets;
+    }
+
+    private OfferReader newReader(boolean roundTrip) {
+        try {
+            return new OfferReader(jsonFactory.createNonBlockingByteBufferParser(), roundTrip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Per-response parsing state: tracks the document structure and buffers the tokens
+     * of the current offer until its closing brace arrives.
+     */
+    private class OfferReader {
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private final boolean roundTrip;
+
+        private int depth;
+        private boolean inData;
+        private TokenBuffer offerTokens;
+
+        OfferReader(JsonParser parser, boolean roundTrip) {
+            this.parser = parser;
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+            this.roundTrip = roundTrip;
+        }
+
+        List<FlightTicket> feed(DataBuffer buffer) {
+            List<FlightTicket> tickets = new ArrayList<>();
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    tickets.addAll(feed(iterator.next()));
+                }
+            }
+            return tickets;
+        }
+
+        List<FlightTicket> feed(ByteBuffer bytes) {
+            try {
+                feeder.feedInput(bytes);
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        List<FlightTicket> endOfInput() {
+            try {
+                feeder.endOfInput();
+                List<FlightTicket> tickets = drain();
+                if (offerTokens != null) {
+                    log.warn("Amadeus response ended in the middle of a flight offer");
+                }
+                parser.close();
+                return tickets;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private List<FlightTicket> drain() throws IOException {
+            List<FlightTicket> tickets = Collections.emptyList();
+            JsonToken token;
+
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (token.isStructStart()) {
+                    depth++;
+                    if (token == JsonToken.START_ARRAY && depth == OFFER_DEPTH - 1 && "data".equals(parser.currentName())) {
+                        inData = true;
+                    } else if (token == JsonToken.START_OBJECT && depth == OFFER_DEPTH && inData) {
+                        offerTokens = new TokenBuffer(parser);
+                    }
+                }
+
+                if (offerTokens != null) {
+                    offerTokens.copyCurrentEvent(parser);
+                }
+
+                if (token.isStructEnd()) {
+                    if (offerTokens != null && depth == OFFER_DEPTH) {
+                        FlightTicket ticket = readBufferedOffer();
+                        if (ticket != null) {
+                            if (tickets.isEmpty()) {
+                                tickets = new ArrayList<>();
+                            }
+                            tickets.add(ticket);
+                        }
+                    } else if (inData && depth == OFFER_DEPTH - 1) {
+                        inData = false;
+                    }
+                    depth--;
+                }
+            }
+            return tickets;
+        }
+
+        private FlightTicket readBufferedOffer() {
+            TokenBuffer tokens = offerTokens;
+            offerTokens = null;
+            try (JsonParser offer = tokens.asParser()) {
+                offer.nextToken();
+                return readOffer(offer, roundTrip);
+            } catch (Exception e) {
+                log.error("Error parsing flight offer", e);
+                return null;
+            }
+        }
+    }
+
+    private FlightTicket readOffer(JsonParser p, boolean roundTrip) throws IOException {
+        BigDecimal price = null;
+        BigDecimal pricingOptionPrice = null;
+        List<List<RawSegment>> itineraries = new ArrayList<>(2);
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "price" -> price = readTotal(p);
+                case "pricingOptions" -> pricingOptionPrice = readFirstOptionTotal(p);
+                case "itineraries" -> readItineraries(p, itineraries);
+                default -> p.skipChildren();
+            }
+        }
+
+        FlightTicket ticket = new FlightTicket();
+
+        // Parse pricing - try direct price field first, then pricingOptions
+        ticket.setCost(price != null ? price : pricingOptionPrice);
+
+        // Parse outbound itinerary
+        if (!itineraries.isEmpty() && !itineraries.get(0).isEmpty()) {
+            List<RawSegment> segments = itineraries.get(0);
+            RawSegment firstSegment = segments.get(0);
+            RawSegment lastSegment = segments.get(segments.size() - 1);
+
+            ticket.setDepartureTime(parseDateTime(firstSegment.departureAt));
+            ticket.setArrivalTime(parseDateTime(lastSegment.arrivalAt));
+            ticket.setOrigin(firstSegment.departureAirport);
+            ticket.setDestination(lastSegment.arrivalAirport);
+            ticket.setAirline(firstSegment.carrierCode);
+            ticket.setStops(segments.size() - 1);
+            if (firstSegment.duration != null) {
+                ticket.setDuration(formatDuration(firstSegment.duration));
+            }
+            ticket.setOutboundSegments(toFlightSegments(segments));
+        }
+
+        ticket.setRoundTrip(roundTrip);
+
+        // Parse return flight if round trip
+        if (roundTrip && itineraries.size() > 1 && !itineraries.get(1).isEmpty()) {
+            List<RawSegment> segments = itineraries.get(1);
+            ticket.setReturnDepartureTime(parseDateTime(segments.get(0).departureAt));
+            ticket.setReturnArrivalTime(parseDateTime(segments.get(segments.size() - 1).arrivalAt));
+            ticket.setReturnSegments(toFlightSegments(segments));
+        }
+
+        if (ticket.getCost() == null) {
+            log.warn("Cost is null for ticket from {} to {}", ticket.getOrigin(), ticket.getDestination());
+        }
+
+        // Set default values for missing fields
+        ticket.setBaggage("1 checked bag");
+        ticket.setTravelClass("Economy");
+
+        return ticket;
+    }
+
+    private BigDecimal readTotal(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+
+        BigDecimal total = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("total".equals(field) && p.currentToken().isScalarValue()) {
+                total = new BigDecimal(p.getValueAsString());
+            } else {
+                p.skipChildren();
+            }
+        }
+        return total;
+    }
+
+    private BigDecimal readFirstOptionTotal(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return null;
+        }
+
+        BigDecimal total = null;
+        boolean first = true;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (first && p.currentToken() == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    if ("price".equals(field)) {
+                        total = readTotal(p);
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+            first = false;
+        }
+        return total;
+    }
+
+    private void readItineraries(JsonParser p, List<List<RawSegment>> itineraries) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            List<RawSegment> segments = new ArrayList<>();
+            if (p.currentToken() == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    if ("segments".equals(field)) {
+                        readSegments(p, segments);
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+            itineraries.add(segments);
+        }
+    }
+
+    private void readSegments(JsonParser p, List<RawSegment> segments) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+
+            RawSegment segment = new RawSegment();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "departure" -> readDeparture(p, segment);
+                    case "arrival" -> readArrival(p, segment);
+                    case "carrierCode" -> segment.carrierCode = codeDictionary.intern(p.getValueAsString());
+                    case "number" -> segment.number = p.getValueAsString();
+                    case "duration" -> segment.duration = p.getValueAsString();
+                    case "aircraft" -> segment.aircraft = codeDictionary.intern(readCode(p));
+                    default -> p.skipChildren();
+                }
+            }
+            segments.add(segment);
+        }
+    }
+
+    private void readDeparture(JsonParser p, RawSegment segment) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "iataCode" -> segment.departureAirport = codeDictionary.intern(p.getValueAsString());
+                case "at" -> segment.departureAt = p.getValueAsString();
+                case "terminal" -> segment.terminal = codeDictionary.intern(p.getValueAsString());
+                case "gate" -> segment.gate = p.getValueAsString();
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private void readArrival(JsonParser p, RawSegment segment) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "iataCode" -> segment.arrivalAirport = codeDictionary.intern(p.getValueAsString());
+                case "at" -> segment.arrivalAt = p.getValueAsString();
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private String readCode(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+
+        String code = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("code".equals(field)) {
+                code = p.getValueAsString();
+            } else {
+                p.skipChildren();
+            }
+        }
+        return code;
+    }
+
+    private List<FlightTicket.FlightSegment> toFlightSegments(List<RawSegment> segments) {
+        List<FlightTicket.FlightSegment> flightSegments = new ArrayList<>(segments.size());
+
+        for (RawSegment segment : segments) {
+            try {
+                FlightTicket.FlightSegment flightSegment = FlightTicket.FlightSegment.builder()
+                        .departureAirport(segment.departureAirport)
+                        .arrivalAirport(segment.arrivalAirport)
+                        .departureTime(parseDateTime(segment.departureAt))
+                        .arrivalTime(parseDateTime(segment.arrivalAt))
+                        .airline(segment.carrierCode)
+                        .flightNumber(segment.number)
+                        .duration(segment.duration != null ? formatDuration(segment.duration) : null)
+                        .aircraft(segment.aircraft)
+                        .terminal(segment.terminal)
+                        .gate(segment.gate)
+                        .build();
+
+                flightSegments.add(flightSegment);
+
+            } catch (Exception e) {
+                log.warn("Error parsing segment: {}", e.getMessage());
+            }
+        }
+
+        return flightSegments;
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        // Handle timezone format (remove Z and parse)
+        return LocalDateTime.parse(value.replace("Z", ""));
+    }
+
+    /**
+     * Converts ISO 8601 duration to human-readable format
+     * Example: "PT5H7M" -> "5h 7m"
+     */
+    static String formatDuration(String isoDuration) {
+        if (isoDuration == null || isoDuration.isEmpty()) {
+            return null;
+        }
+
+        try {
+            // Remove "PT" prefix and parse hours and minutes
+            String duration = isoDuration.replace("PT", "");
+            StringBuilder result = new StringBuilder();
+
+            // Extract hours
+            int hourIndex = duration.indexOf('H');
+            if (hourIndex != -1) {
+                String hours = duration.substring(0, hourIndex);
+                result.append(hours).append("h ");
+                duration = duration.substring(hourIndex + 1);
+            }
+
+            // Extract minutes
+            int minuteIndex = duration.indexOf('M');
+            if (minuteIndex != -1) {
+                String minutes = duration.substring(0, minuteIndex);
+                result.append(minutes).append("m");
+            }
+
+            return result.toString().trim();
+        } catch (Exception e) {
+            log.warn("Failed to parse duration: {}", isoDuration, e);
+            return isoDuration; // Return original if parsing fails
+        }
+    }
+
+    /**
+     * Segment fields as read from the response, before conversion
+     */
+    private static class RawSegment {
+        String departureAirport;
+        String departureAt;
+        String terminal;
+        String gate;
+        String arrivalAirport;
+        String arrivalAt;
+        String carrierCode;
+        String number;
+        String duration;
+        String aircraft;
+    }
+}
@@ -0,0 +1,176 @@
+package com.aim.service.impl;
+
+import com.aim.config.ApiConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the Amadeus OAuth access token.
+ * Readers get the current token from a volatile field without locking; at most one refresh
+ * is in flight at a time, and a background task renews the token before it expires so
+ * searches normally never wait on the token endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AmadeusTokenManager {
+
+    private static final String[] TOKEN_URLS = {
+        "https://test.api.amadeus.com/v1/security/oauth2/token",
+        "https://api.amadeus.com/v1/security/oauth2/token"
+    };
+
+    // Stop handing out a token this long before Amadeus considers it expired
+    private static final Duration EXPIRY_SAFETY_MARGIN = Duration.ofMinutes(1);
+
+    private final ApiConfig apiConfig;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+
+    private volatile AccessToken currentToken;
+    private final AtomicReference<CompletableFuture<AccessToken>> refreshInFlight = new AtomicReference<>();
+    private final AtomicInteger preferredEndpoint = new AtomicInteger();
+
+    /**
+     * Get a valid access token, refreshing it only if the current one has expired
+     * @return Mono emitting the access token, or empty if no endpoint issued one
+     */
+    public Mono<String> getAccessToken() {
+        AccessToken token = currentToken;
+        if (token != null && token.isUsableAt(Instant.now())) {
+            return Mono.just(token.getValue());
+        }
+        return refresh().map(AccessToken::getValue);
+    }
+
+    /**
+     * Renew the token ahead of expiry so that searches do not pay for a token round trip
+     */
+    @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void refreshIfExpiringSoon() {
+        if (!isConfigured()) {
+            return;
+        }
+
+        AccessToken token = currentToken;
+        Instant refreshAt = Instant.now().plus(apiConfig.getToken().getRefreshAhead());
+        if (token == null || !token.isUsableAt(refreshAt)) {
+            log.debug("Refreshing Amadeus access token ahead of expiry");
+            refresh().subscribe(
+                    refreshed -> { },
+                    e -> log.warn("Background Amadeus token refresh failed: {}", e.getMessage()));
+        }
+    }
+
+    /**
+     * Start a refresh, or join the one already in flight
+     */
+    private Mono<AccessToken> refresh() {
+        CompletableFuture<AccessToken> refresh = new CompletableFuture<>();
+        CompletableFuture<AccessToken> existing = refreshInFlight.compareAndExchange(null, refresh);
+        if (existing != null) {
+            return Mono.fromFuture(existing, true);
+        }
+
+        refresh.whenComplete((token, error) -> refreshInFlight.compareAndSet(refresh, null));
+        requestFromEndpoints(0)
+                .subscribe(
+                        token -> {
+                            currentToken = token;
+                            refresh.complete(token);
+                        },
+                        refresh::completeExceptionally,
+                        () -> refresh.complete(null)); // No-op if a token was already emitted
+        return Mono.fromFuture(refresh, true);
+    }
+
+    /**
+     * Try the endpoints starting with the one that last worked, moving on only when it fails
+     */
+    private Mono<AccessToken> requestFromEndpoints(int attempt) {
+        if (attempt >= TOKEN_URLS.length) {
+            log.error("Failed to obtain Amadeus access token from all endpoints");
+            return Mono.empty();
+        }
+
+        int endpoint = (preferredEndpoint.get() + attempt) % TOKEN_URLS.length;
+        String tokenUrl = TOKEN_URLS[endpoint];
+        return requestAccessToken(tokenUrl)
+                .doOnNext(token -> preferredEndpoint.set(endpoint))
+                .onErrorResume(e -> {
+                    log.error("Failed to obtain Amadeus access token from: {}", tokenUrl, e);
+                    // Continue to next URL if this one fails
+                    return requestFromEndpoints(attempt + 1);
+                });
+    }
+
+    private Mono<AccessToken> requestAccessToken(String tokenUrl) {
+        log.info("Requesting Amadeus access token from: {}", tokenUrl);
+
+        // Build the request body properly
+        String requestBody = String.format(
+            "grant_type=client_credentials&client_id=%s&client_secret=%s",
+            apiConfig.getAmadeusClientId(),
+            apiConfig.getAmadeusClientSecret()
+        );
+
+        return webClient.post()
+                .uri(tokenUrl)
+                .header(HttpHeaders.CONTENT_TYPE, "application/x-www-form-urlencoded")
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .bodyValue(requestBody)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
+                        clientResponse -> {
+                            log.error("Amadeus API error from {}: {} - {}",
+                                     tokenUrl, clientResponse.statusCode(),
+                                     clientResponse.statusCode().value());
+                            return clientResponse.bodyToMono(String.class)
+                                    .flatMap(errorBody -> {
+                                        log.error("Error response body: {}", errorBody);
+                                        return Mono.error(new RuntimeException("Amadeus API error: " + errorBody));
+                                    });
+                        })
+                .bodyToMono(String.class)
+                .flatMap(response -> Mono.fromCallable(() -> parseToken(response, tokenUrl)));
+    }
+
+    private AccessToken parseToken(String response, String tokenUrl) throws Exception {
+        JsonNode jsonResponse = objectMapper.readTree(response);
+        String accessToken = jsonResponse.get("access_token").asText();
+        int expiresIn = jsonResponse.get("expires_in").asInt();
+
+        log.info("Successfully obtained Amadeus access token from: {} (expires in {}s)", tokenUrl, expiresIn);
+        return new AccessToken(accessToken, Instant.now().plusSeconds(expiresIn).minus(EXPIRY_SAFETY_MARGIN));
+    }
+
+    private boolean isConfigured() {
+        return apiConfig.getAmadeusClientId() != null && !apiConfig.getAmadeusClientId().isEmpty()
+                && apiConfig.getAmadeusClientSecret() != null && !apiConfig.getAmadeusClientSecret().isEmpty();
+    }
+
+    @Value
+    private static class AccessToken {
+        String value;
+        Instant expiresAt;
+
+        boolean isUsableAt(Instant instant) {
+            return instant.isBefore(expiresAt);
+        }
+    }
+}
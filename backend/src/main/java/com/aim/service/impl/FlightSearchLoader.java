@@ -0,0 +1,126 @@
+package com.aim.service.impl;
+
+import com.aim.config.ApiConfig;
+import com.aim.dto.TicketSearchRequest;
+import com.aim.search.ColumnarSearchResult;
+import com.aim.search.FlightSearchCache;
+import com.aim.search.FlightSearchKey;
+import com.aim.search.SearchRequestCoalescer;
+import com.aim.search.SearchResultDiskStore;
+import com.aim.search.SearchTrace;
+import com.aim.service.AmadeusApiService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Fetches an exact-date, single-airport-pair search from Amadeus into the search cache,
+ * reading it from the disk cache first when that is enabled.
+ * Calls for the same key, whether from searches or background refreshes, share one upstream call.
+ */
+@Component
+@Slf4j
+public class FlightSearchLoader {
+
+    private final AmadeusApiService amadeusApiService;
+    private final FlightSearchCache flightSearchCache;
+    private final SearchRequestCoalescer searchRequestCoalescer;
+    private final SearchResultDiskStore searchResultDiskStore;
+    private final Counter revalidations;
+    // Keys whose revalidation started within the backoff, whether it is still running, failed or found nothing
+    private final Cache<FlightSearchKey, Instant> recentRevalidations;
+
+    public FlightSearchLoader(ApiConfig apiConfig, AmadeusApiService amadeusApiService,
+                              FlightSearchCache flightSearchCache, SearchRequestCoalescer searchRequestCoalescer,
+                              SearchResultDiskStore searchResultDiskStore, MeterRegistry meterRegistry) {
+        this.amadeusApiService = amadeusApiService;
+        this.flightSearchCache = flightSearchCache;
+        this.searchRequestCoalescer = searchRequestCoalescer;
+        this.searchResultDiskStore = searchResultDiskStore;
+        this.revalidations = Counter.builder("flight.search.revalidations")
+                .description("Background refreshes started for stale cached searches")
+                .register(meterRegistry);
+        this.recentRevalidations = Caffeine.newBuilder()
+                .expireAfterWrite(apiConfig.getSearchCache().getRevalidationBackoff())
+                .build();
+    }
+
+    /**
+     * Load a search that missed the cache
+     * @return Mono emitting the search's real tickets, empty results if Amadeus returned none
+     */
+    public Mono<ColumnarSearchResult> load(FlightSearchKey key, TicketSearchRequest searchRequest, SearchTrace trace) {
+        // Overwritten by the loader if this caller ends up making the upstream call
+        trace.source("coalesced");
+        return searchRequestCoalescer.execute(key, () -> {
+            // A previous in-flight call may have filled the cache since our lookup
+            ColumnarSearchResult justCached = flightSearchCache.getIfPresent(key);
+            if (justCached != null) {
+                trace.source("cache");
+                return Mono.just(justCached);
+            }
+            if (searchResultDiskStore.isEnabled()) {
+                return Mono.fromCallable(() -> Optional.ofNullable(searchResultDiskStore.read(key)))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(stored -> {
+                            if (stored.isPresent()) {
+                                trace.source("disk");
+                                flightSearchCache.put(key, stored.get());
+                                return Mono.just(stored.get());
+                            }
+                            trace.source("upstream");
+                            return fetch(key, searchRequest);
+                        });
+            }
+            
+            log.debug("Amadeus API is available, searching for real tickets");
+            trace.source("upstream");
+            return fetch(key, searchRequest);
+        });
+    }
+
+    /**
+     * Refresh a stale cached search in the background. Searches that trigger a revalidation are
+     * served the stale result meanwhile. A key is refreshed at most once per revalidation backoff,
+     * so a refresh that fails or finds nothing, and leaves the stale entry cached, is not retried
+     * by every following search.
+     */
+    public void revalidate(FlightSearchKey key) {
+        if (recentRevalidations.asMap().putIfAbsent(key, Instant.now()) != null) {
+            return;
+        }
+        revalidations.increment();
+        log.debug("Revalidating stale search {}", key);
+        refresh(key).subscribe(
+                results -> { },
+                e -> log.warn("Revalidation failed for {}: {}", key, e.getMessage()));
+    }
+
+    /**
+     * Fetch a search again even though it is cached, replacing the cached result
+     */
+    public Mono<ColumnarSearchResult> refresh(FlightSearchKey key) {
+        return searchRequestCoalescer.execute(key, () -> fetch(key, key.toSearchRequest()));
+    }
+
+    private Mono<ColumnarSearchResult> fetch(FlightSearchKey key, TicketSearchRequest searchRequest) {
+        return amadeusApiService.searchRealTicketsReactive(searchRequest)
+                .map(ColumnarSearchResult::of)
+                .doOnNext(results -> {
+                    flightSearchCache.put(key, results);
+                    if (searchResultDiskStore.isEnabled() && !results.isEmpty()) {
+                        Mono.fromRunnable(() -> searchResultDiskStore.write(key, results))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .subscribe();
+                    }
+                });
+    }
+}
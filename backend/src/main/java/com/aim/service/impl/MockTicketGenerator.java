@@ -1,91 +1,48 @@
 package com.aim.service.impl;
 
-import com.aim.config.ApiConfig;
-import com.aim.dto.PaginatedResponse;
 import com.aim.dto.TicketSearchRequest;
 import com.aim.model.FlightTicket;
-import com.aim.model.User;
-import com.aim.repository.FlightTicketRepository;
-import com.aim.repository.UserRepository;
-import com.aim.service.AmadeusApiService;
-import com.aim.service.TicketService;
+import com.aim.search.CodeDictionary;
+import com.aim.search.FlightSearchKey;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
+import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
-@Service
+/**
+ * Generates mock tickets for searches the Amadeus API cannot serve
+ */
+@Component
 @RequiredArgsConstructor
-@Slf4j
-public class TicketServiceImpl implements TicketService {
+public class MockTicketGenerator {
 
-    private final ApiConfig apiConfig;
-    private final AmadeusApiService amadeusApiService;
-    private final FlightTicketRepository flightTicketRepository;
-    private final UserRepository userRepository;
-    private final Random random = new Random();
+    private final CodeDictionary codeDictionary;
 
-    @Override
-    public PaginatedResponse<FlightTicket> searchTickets(TicketSearchRequest searchRequest) {
-        log.info("Searching tickets from {} to {} on {}", 
-                searchRequest.getOrigin(), 
-                searchRequest.getDestination(), 
-                searchRequest.getDepartureDate());
-
-        List<FlightTicket> allTickets = new ArrayList<>();
-
-        // Try to get real tickets from Amadeus API first
-        if (amadeusApiService.isApiAvailable()) {
-            log.info("Amadeus API is available, searching for real tickets");
-            allTickets = amadeusApiService.searchRealTickets(searchRequest);
-        }
-
-        // If no real tickets found, generate mock tickets
-        if (allTickets.isEmpty()) {
-            log.info("No real tickets found, generating mock tickets");
-            allTickets = generateMockTickets(searchRequest);
-        }
-        
-        // Apply pagination
-        List<FlightTicket> paginatedTickets = applyPagination(allTickets, searchRequest.getPage(), searchRequest.getSize());
-        
-        // Create pagination metadata
-        PaginatedResponse.PaginationMetadata metadata = createPaginationMetadata(
-                allTickets.size(), 
-                searchRequest.getPage(), 
-                searchRequest.getSize()
-        );
-        
-        log.info("Returning {} tickets (page {} of {})", 
-                paginatedTickets.size(), 
-                metadata.getPage() + 1, 
-                metadata.getTotalPages());
-        
-        return new PaginatedResponse<>(paginatedTickets, metadata);
-    }
-
-    private List<FlightTicket> generateMockTickets(TicketSearchRequest request) {
+    /**
+     * Generate 5-10 plausible tickets for the searched route and dates.
+     * The tickets are derived from the search itself, so repeating a search gives the same tickets.
+     */
+    public List<FlightTicket> generateMockTickets(TicketSearchRequest request) {
+        Random random = new Random(FlightSearchKey.from(request).hashCode());
         List<FlightTicket> tickets = new ArrayList<>();
         
         // Generate 5-10 mock tickets
         int numTickets = random.nextInt(6) + 5;
         
         for (int i = 0; i < numTickets; i++) {
-            FlightTicket ticket = createMockTicket(request, i);
+            FlightTicket ticket = createMockTicket(request, random);
             tickets.add(ticket);
         }
         
         return tickets;
     }
 
-    private FlightTicket createMockTicket(TicketSearchRequest request, int index) {
+    private FlightTicket createMockTicket(TicketSearchRequest request, Random random) {
         String[] airlines = {"Delta", "American Airlines", "United", "Southwest", "JetBlue"};
         String airline = airlines[random.nextInt(airlines.length)];
         
@@ -98,17 +55,17 @@ public class TicketServiceImpl implements TicketService {
         int flightMinutes = random.nextInt(60);
         LocalDateTime arrivalDateTime = departureDateTime.plusHours(flightHours).plusMinutes(flightMinutes);
         
-<<<<<<< HEAD
         // Format duration as human-readable string
         String duration = flightHours + "h " + flightMinutes + "m";
-=======
->>>>>>> e17a9c88759d6c836467e3b002daa9717f626d68
+        
         // Cost between $100-$800
         BigDecimal cost = new BigDecimal(100 + random.nextInt(700));
         
         FlightTicket ticket = new FlightTicket();
-        ticket.setOrigin(request.getOrigin());
-        ticket.setDestination(request.getDestination());
+        String origin = codeDictionary.internAirportCode(request.getOrigin());
+        String destination = codeDictionary.internAirportCode(request.getDestination());
+        ticket.setOrigin(origin);
+        ticket.setDestination(destination);
         ticket.setDepartureTime(departureDateTime);
         ticket.setArrivalTime(arrivalDateTime);
         ticket.setAirline(airline);
@@ -121,7 +78,7 @@ public class TicketServiceImpl implements TicketService {
         
         // Generate outbound segments
         List<FlightTicket.FlightSegment> outboundSegments = generateMockSegments(
-            request.getOrigin(), request.getDestination(), departureDateTime, arrivalDateTime, airline);
+            origin, destination, departureDateTime, arrivalDateTime, airline, random);
         ticket.setOutboundSegments(outboundSegments);
         
         // If round trip, add return flight
@@ -135,7 +92,7 @@ public class TicketServiceImpl implements TicketService {
             
             // Generate return segments
             List<FlightTicket.FlightSegment> returnSegments = generateMockSegments(
-                request.getDestination(), request.getOrigin(), returnDepartureDateTime, returnArrivalDateTime, airline);
+                destination, origin, returnDepartureDateTime, returnArrivalDateTime, airline, random);
             ticket.setReturnSegments(returnSegments);
         }
         
@@ -147,7 +104,7 @@ public class TicketServiceImpl implements TicketService {
      */
     private List<FlightTicket.FlightSegment> generateMockSegments(String origin, String destination, 
                                                                  LocalDateTime departureTime, LocalDateTime arrivalTime, 
-                                                                 String airline) {
+                                                                 String airline, Random random) {
         List<FlightTicket.FlightSegment> segments = new ArrayList<>();
         
         // Generate flight number
@@ -158,7 +115,7 @@ public class TicketServiceImpl implements TicketService {
         String aircraft = aircraftTypes[random.nextInt(aircraftTypes.length)];
         
         // Generate terminal and gate
-        String terminal = String.valueOf(random.nextInt(5) + 1);
+        String terminal = codeDictionary.intern(String.valueOf(random.nextInt(5) + 1));
         String gate = String.valueOf(random.nextInt(50) + 1);
         
         // Calculate duration
@@ -182,29 +139,4 @@ public class TicketServiceImpl implements TicketService {
         
         return segments;
     }
-    
-    /**
-     * Apply pagination to a list of tickets
-     */
-    private List<FlightTicket> applyPagination(List<FlightTicket> tickets, int page, int size) {
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, tickets.size());
-        
-        if (startIndex >= tickets.size()) {
-            return new ArrayList<>();
-        }
-        
-        return tickets.subList(startIndex, endIndex);
-    }
-    
-    /**
-     * Create pagination metadata
-     */
-    private PaginatedResponse.PaginationMetadata createPaginationMetadata(int totalElements, int page, int size) {
-        int totalPages = (int) Math.ceil((double) totalElements / size);
-        boolean hasNext = page < totalPages - 1;
-        boolean hasPrevious = page > 0;
-        
-        return new PaginatedResponse.PaginationMetadata(page, size, totalElements, totalPages, hasNext, hasPrevious);
-    }
-} 
\ No newline at end of file
+}
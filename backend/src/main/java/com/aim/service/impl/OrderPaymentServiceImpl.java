@@ -11,7 +11,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
-import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -19,14 +18,13 @@ import java.util.List;
 public class OrderPaymentServiceImpl implements OrderPaymentService {
 
     private final OrderRepository orderRepository;
+    private final UnmatchedSessionLog unmatchedSessionLog;
 
     @Override
     @Transactional
     public UpdateOrderPaymentResponse updateOrderPayment(UpdateOrderPaymentRequest request) {
         log.info("Updating order payment for session: {} with status: {}", 
                 request.getSessionId(), request.getPaymentStatus());
-        log.info("Session ID length: {}", request.getSessionId().length());
-        log.info("Full session ID: '{}'", request.getSessionId());
 
         try {
             // Find order by session ID
@@ -34,17 +32,8 @@ public class OrderPaymentServiceImpl implements OrderPaymentService {
             
             if (orderOpt.isEmpty()) {
                 log.warn("Order not found for session ID: {}", request.getSessionId());
-                log.warn("Session ID length: {}", request.getSessionId().length());
-                log.warn("Full session ID: '{}'", request.getSessionId());
-                
-                // Debug: Let's check what session IDs exist in the database
-                List<Order> allOrders = orderRepository.findAll();
-                log.info("Total orders in database: {}", allOrders.size());
-                for (Order order : allOrders) {
-                    log.info("Order {}: session ID = '{}' (length: {})", 
-                            order.getOrderNumber(), order.getStripeSessionId(), 
-                            order.getStripeSessionId() != null ? order.getStripeSessionId().length() : 0);
-                }
+                // Kept for inspection at /actuator/unmatchedsessions
+                unmatchedSessionLog.recordUpdate(request.getSessionId(), request.getPaymentStatus());
                 
                 return UpdateOrderPaymentResponse.builder()
                         .success(false)
@@ -85,6 +74,11 @@ public class OrderPaymentServiceImpl implements OrderPaymentService {
             
             if (orderOpt.isEmpty()) {
                 log.warn("Order not found for session ID: {}", sessionId);
+                if (paymentStatus != null && !paymentStatus.trim().isEmpty()) {
+                    unmatchedSessionLog.recordUpdate(sessionId, paymentStatus);
+                } else {
+                    unmatchedSessionLog.recordLookup(sessionId);
+                }
                 return UpdateOrderPaymentResponse.builder()
                         .success(false)
                         .message("Order not found for session ID: " + sessionId)
@@ -2,33 +2,44 @@ package com.aim.service.impl;
 
 import com.aim.dto.OrderRequest;
 import com.aim.dto.OrderResponse;
+import com.aim.dto.OrderSummary;
+import com.aim.dto.PaginatedResponse;
 import com.aim.model.FlightTicket;
 import com.aim.model.Order;
 import com.aim.model.User;
 import com.aim.repository.FlightTicketRepository;
+import com.aim.repository.KeysetCursor;
+import com.aim.repository.KeysetCursorCodec;
 import com.aim.repository.OrderRepository;
 import com.aim.repository.UserRepository;
 import com.aim.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final FlightTicketRepository flightTicketRepository;
     private final UserRepository userRepository;
+    private final KeysetCursorCodec keysetCursorCodec;
 
     @Override
     @Transactional
@@ -75,8 +86,8 @@ public class OrderServiceImpl implements OrderService {
             orders.add(order);
         }
         
-        // Save all orders
-        List<Order> savedOrders = orderRepository.saveAll(orders);
+        // Save all orders in one batch
+        List<Order> savedOrders = orderRepository.insertAll(orders);
         
         log.info("Created {} orders with itinerary number: {}", savedOrders.size(), itineraryNumber);
         
@@ -93,20 +104,62 @@ public class OrderServiceImpl implements OrderService {
         return response;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedResponse<OrderSummary> getOrderHistory(String userEmail, String cursor, int size) {
+        String listing = "orders:" + userEmail;
+        KeysetCursor position = keysetCursorCodec.decode(cursor, listing);
+        if (cursor != null && position == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+        int page = position == null ? 0 : position.getPage();
+        
+        User user = userRepository.findByEmail(userEmail);
+        if (user == null) {
+            return new PaginatedResponse<>(List.of(), PaginatedResponse.PaginationMetadata.forCursor(page, pageSize, 0, null));
+        }
+        
+        // Fetch one extra row to learn whether there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Order> orders = position == null
+                ? orderRepository.findHistoryByUserId(user.getId(), limit)
+                : orderRepository.findHistoryByUserIdBefore(user.getId(), position.getPosition(), position.getId(), limit);
+        
+        // Count once on the first page; later pages carry the total in the cursor
+        long total = position == null ? orderRepository.countByUserId(user.getId()) : position.getTotal();
+        
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            Order last = orders.get(pageSize - 1);
+            nextCursor = keysetCursorCodec.encode(
+                    new KeysetCursor(last.getCreatedAt(), last.getId(), page + 1, total), listing);
+        }
+        
+        List<OrderSummary> summaries = orders.stream().map(OrderSummary::from).toList();
+        return new PaginatedResponse<>(summaries, PaginatedResponse.PaginationMetadata.forCursor(
+                page, pageSize, total, nextCursor));
+    }
+
     private List<FlightTicket> validateAndGetFlightTickets(List<Long> flightTicketIds, String userEmail) {
         if (flightTicketIds == null || flightTicketIds.isEmpty()) {
             throw new IllegalArgumentException("Flight ticket IDs cannot be null or empty");
         }
         
-        List<FlightTicket> flightTickets = new ArrayList<>();
+        // Load every ticket with its owner in one query, then validate in memory
+        Map<Long, FlightTicket> ticketsById = flightTicketRepository.findAllByIdWithUser(new HashSet<>(flightTicketIds))
+                .stream()
+                .collect(Collectors.toMap(FlightTicket::getId, Function.identity()));
+        
+        List<FlightTicket> flightTickets = new ArrayList<>(flightTicketIds.size());
         for (Long ticketId : flightTicketIds) {
-            Optional<FlightTicket> ticketOpt = flightTicketRepository.findById(ticketId);
-            if (ticketOpt.isEmpty()) {
+            FlightTicket ticket = ticketsById.get(ticketId);
+            if (ticket == null) {
                 throw new IllegalArgumentException("Flight ticket not found with ID: " + ticketId);
             }
             
-            FlightTicket ticket = ticketOpt.get();
-            if (!ticket.getUser().getEmail().equals(userEmail)) {
+            if (ticket.getUser() == null || !ticket.getUser().getEmail().equals(userEmail)) {
                 throw new IllegalArgumentException("Flight ticket " + ticketId + " does not belong to user: " + userEmail);
             }
             
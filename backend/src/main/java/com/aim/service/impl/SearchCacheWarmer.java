@@ -0,0 +1,87 @@
+package com.aim.service.impl;
+
+import com.aim.config.ApiConfig;
+import com.aim.search.FlightSearchCache;
+import com.aim.search.FlightSearchKey;
+import com.aim.search.SearchTrafficTracker;
+import com.aim.service.AmadeusApiService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the most searched routes in the search cache. Each run refreshes the top searches that
+ * are missing from the cache or about to expire, making at most a fixed number of upstream calls,
+ * so warm-up traffic to Amadeus stays bounded however much search traffic there is.
+ */
+@Component
+@Slf4j
+public class SearchCacheWarmer {
+
+    private final ApiConfig.CacheWarmer config;
+    private final AmadeusApiService amadeusApiService;
+    private final FlightSearchCache flightSearchCache;
+    private final FlightSearchLoader flightSearchLoader;
+    private final SearchTrafficTracker searchTrafficTracker;
+    private final Counter refreshes;
+    private final Counter deferred;
+
+    public SearchCacheWarmer(ApiConfig apiConfig, AmadeusApiService amadeusApiService,
+                             FlightSearchCache flightSearchCache, FlightSearchLoader flightSearchLoader,
+                             SearchTrafficTracker searchTrafficTracker, MeterRegistry meterRegistry) {
+        this.config = apiConfig.getCacheWarmer();
+        this.amadeusApiService = amadeusApiService;
+        this.flightSearchCache = flightSearchCache;
+        this.flightSearchLoader = flightSearchLoader;
+        this.searchTrafficTracker = searchTrafficTracker;
+        this.refreshes = Counter.builder("flight.search.warmer.refreshes")
+                .description("Top searches fetched ahead of expiry by the cache warmer")
+                .register(meterRegistry);
+        this.deferred = Counter.builder("flight.search.warmer.deferred")
+                .description("Top searches due for a refresh but left for a later run by the call budget")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.api.cache-warmer.interval:PT1M}",
+               initialDelayString = "${app.api.cache-warmer.interval:PT1M}")
+    public void warmTopSearches() {
+        if (!config.isEnabled() || !amadeusApiService.isApiAvailable()) {
+            return;
+        }
+
+        List<FlightSearchKey> topSearches = searchTrafficTracker.top(config.getTopSearches());
+        Duration refreshAfter = flightSearchCache.getTtl().minus(config.getRefreshAhead());
+        LocalDate today = LocalDate.now();
+        int budget = config.getMaxRefreshesPerRun();
+
+        for (FlightSearchKey key : topSearches) {
+            if (key.getDepartureDate().isBefore(today)) {
+                continue;
+            }
+            Duration age = flightSearchCache.age(key);
+            if (age != null && age.compareTo(refreshAfter) < 0) {
+                continue;
+            }
+            if (budget == 0) {
+                deferred.increment();
+                continue;
+            }
+
+            budget--;
+            refreshes.increment();
+            log.debug("Warming search cache for {}", key);
+            flightSearchLoader.refresh(key).subscribe(
+                    results -> { },
+                    e -> log.warn("Cache warm-up failed for {}: {}", key, e.getMessage()));
+        }
+
+        // Let routes that are no longer searched drop out of the ranking
+        searchTrafficTracker.decay();
+    }
+}
@@ -0,0 +1,373 @@
+package com.aim.service.impl;
+
+import com.aim.config.ApiConfig;
+import com.aim.dto.FlightTicketSummary;
+import com.aim.dto.PaginatedResponse;
+import com.aim.dto.PriceCalendarDay;
+import com.aim.dto.TicketSearchRequest;
+import com.aim.model.FlightTicket;
+import com.aim.model.User;
+import com.aim.repository.FlightTicketRepository;
+import com.aim.repository.KeysetCursor;
+import com.aim.repository.KeysetCursorCodec;
+import com.aim.repository.UserRepository;
+import com.aim.search.ColumnarSearchResult;
+import com.aim.search.FlightSearchCache;
+import com.aim.search.FlightSearchKey;
+import com.aim.search.MetroAreaDirectory;
+import com.aim.search.SearchCursor;
+import com.aim.search.SearchDiagnostics;
+import com.aim.search.SearchResultRefiner;
+import com.aim.search.SearchSnapshot;
+import com.aim.search.SearchSnapshotStore;
+import com.aim.search.SearchTrace;
+import com.aim.search.SearchTrafficTracker;
+import com.aim.service.AmadeusApiService;
+import com.aim.service.TicketService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketServiceImpl implements TicketService {
+
+    private static final int MAX_TICKET_PAGE_SIZE = 100;
+
+    private final ApiConfig apiConfig;
+    private final AmadeusApiService amadeusApiService;
+    private final FlightTicketRepository flightTicketRepository;
+    private final UserRepository userRepository;
+    private final FlightSearchCache flightSearchCache;
+    private final FlightSearchLoader flightSearchLoader;
+    private final SearchTrafficTracker searchTrafficTracker;
+    private final MockTicketGenerator mockTicketGenerator;
+    private final SearchDiagnostics searchDiagnostics;
+    private final SearchSnapshotStore searchSnapshotStore;
+    private final SearchResultRefiner searchResultRefiner;
+    private final MetroAreaDirectory metroAreaDirectory;
+    private final KeysetCursorCodec keysetCursorCodec;
+
+    @Override
+    public PaginatedResponse<FlightTicket> searchTickets(TicketSearchRequest searchRequest) {
+        // Synchronous adapter over the reactive pipeline for blocking callers
+        return searchTicketsReactive(searchRequest).block();
+    }
+
+    @Override
+    public PaginatedResponse<FlightTicketSummary> getUserTickets(String userEmail, String cursor, int size) {
+        String listing = "tickets:" + userEmail;
+        KeysetCursor position = keysetCursorCodec.decode(cursor, listing);
+        if (cursor != null && position == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int pageSize = Math.max(1, Math.min(MAX_TICKET_PAGE_SIZE, size));
+        int page = position == null ? 0 : position.getPage();
+        
+        // Fetch one extra row to learn whether there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<FlightTicketSummary> tickets = position == null
+                ? flightTicketRepository.findSummariesByUserEmail(userEmail, limit)
+                : flightTicketRepository.findSummariesByUserEmailAfter(
+                        userEmail, position.getPosition(), position.getId(), limit);
+        
+        // Count once on the first page; later pages carry the total in the cursor
+        long total = position == null ? flightTicketRepository.countByUserEmail(userEmail) : position.getTotal();
+        
+        String nextCursor = null;
+        if (tickets.size() > pageSize) {
+            tickets = tickets.subList(0, pageSize);
+            FlightTicketSummary last = tickets.get(pageSize - 1);
+            nextCursor = keysetCursorCodec.encode(
+                    new KeysetCursor(last.getDepartureTime(), last.getId(), page + 1, total), listing);
+        }
+        
+        return new PaginatedResponse<>(tickets, PaginatedResponse.PaginationMetadata.forCursor(
+                page, pageSize, total, nextCursor));
+    }
+
+    @Override
+    public Mono<PaginatedResponse<FlightTicket>> searchTicketsReactive(TicketSearchRequest searchRequest) {
+        log.debug("Searching tickets from {} to {} on {}", 
+                searchRequest.getOrigin(), 
+                searchRequest.getDestination(), 
+                searchRequest.getDepartureDate());
+
+        FlightSearchKey key = FlightSearchKey.from(searchRequest);
+        SearchTrace trace = searchDiagnostics.start(key);
+
+        // Follow-up pages are read from the snapshot of the original search
+        SearchCursor cursor = SearchCursor.decode(searchRequest.getCursor());
+        if (cursor != null && !cursor.getRefinement().equals(SearchResultRefiner.fingerprint(searchRequest))) {
+            // The offset counts rows of a differently filtered or sorted view
+            return Mono.error(new IllegalArgumentException(
+                    "Cursor belongs to a search with different filters or sort order"));
+        }
+        int page = cursor != null ? cursor.getOffset() / searchRequest.getSize() : searchRequest.getPage();
+        SearchSnapshot snapshot = searchSnapshotStore.get(
+                cursor != null ? cursor.getSearchId() : searchRequest.getSearchId());
+        if (snapshot != null && snapshot.getKey().equals(key)) {
+            trace.source("snapshot");
+            trace.finish(snapshot.getResults(), page, searchRequest.getSize());
+            return Mono.just(buildPage(snapshot, searchRequest, page));
+        }
+
+        int upstreamSearches = upstreamSearchCount(key, searchRequest);
+        if (upstreamSearches > apiConfig.getMaxFanOutSearches()) {
+            return Mono.error(new IllegalArgumentException(String.format(
+                    "Search expands into %d upstream searches (days x airport pairs), at most %d are allowed; "
+                            + "use fewer flexible days or a specific airport",
+                    upstreamSearches, apiConfig.getMaxFanOutSearches())));
+        }
+
+        Mono<SearchSnapshot> search = searchRequest.getFlexibleDays() > 0
+                ? searchFlexibleDates(key, searchRequest, trace)
+                : searchExactDate(key, searchRequest, trace).map(results -> searchSnapshotStore.create(key, results));
+        
+        return search.map(newSnapshot -> {
+            trace.finish(newSnapshot.getResults(), page, searchRequest.getSize());
+            return buildPage(newSnapshot, searchRequest, page);
+        });
+    }
+
+    /**
+     * Number of exact-date, single-pair searches a request expands into: searched days times airport pairs
+     */
+    private int upstreamSearchCount(FlightSearchKey key, TicketSearchRequest searchRequest) {
+        int flexibleDays = searchRequest.getFlexibleDays();
+        LocalDate today = LocalDate.now();
+        int days = 0;
+        for (int offset = -flexibleDays; offset <= flexibleDays; offset++) {
+            if (!searchRequest.getDepartureDate().plusDays(offset).isBefore(today)) {
+                days++;
+            }
+        }
+        
+        int pairs = 0;
+        for (String origin : metroAreaDirectory.airports(key.getOrigin())) {
+            for (String destination : metroAreaDirectory.airports(key.getDestination())) {
+                if (!origin.equals(destination)) {
+                    pairs++;
+                }
+            }
+        }
+        return Math.max(days, 1) * Math.max(pairs, 1);
+    }
+
+    /**
+     * Search one route and date, falling back to mock tickets when there are no real ones
+     */
+    private Mono<ColumnarSearchResult> searchExactDate(FlightSearchKey key, TicketSearchRequest searchRequest,
+                                                       SearchTrace trace) {
+        // Try to get real tickets (cached or from Amadeus API) first
+        return findRealTicketsForAirports(key, searchRequest, trace)
+                .map(realResults -> {
+                    // If no real tickets found, generate mock tickets
+                    if (realResults.isEmpty()) {
+                        log.debug("No real tickets found, generating mock tickets");
+                        trace.source("mock");
+                        return ColumnarSearchResult.of(mockTicketGenerator.generateMockTickets(searchRequest));
+                    }
+                    return realResults;
+                });
+    }
+
+    /**
+     * Find real tickets for every airport pair a metro-area search covers, a bounded number at a time,
+     * merging them into one de-duplicated result. Plain airport searches go straight to findRealTickets.
+     */
+    private Mono<ColumnarSearchResult> findRealTicketsForAirports(FlightSearchKey key, TicketSearchRequest searchRequest,
+                                                                  SearchTrace trace) {
+        List<String> origins = metroAreaDirectory.airports(key.getOrigin());
+        List<String> destinations = metroAreaDirectory.airports(key.getDestination());
+        if (origins.size() == 1 && destinations.size() == 1
+                && origins.get(0).equals(key.getOrigin()) && destinations.get(0).equals(key.getDestination())) {
+            return findRealTickets(key, searchRequest, trace);
+        }
+        
+        List<TicketSearchRequest> pairRequests = new ArrayList<>(origins.size() * destinations.size());
+        for (String origin : origins) {
+            for (String destination : destinations) {
+                if (!origin.equals(destination)) {
+                    pairRequests.add(upstreamRequest(searchRequest, origin, destination, 0));
+                }
+            }
+        }
+        log.debug("Expanding {} to {} into {} airport pairs", key.getOrigin(), key.getDestination(), pairRequests.size());
+        trace.source("metro");
+        
+        return Flux.fromIterable(pairRequests)
+                .flatMapSequential(pairRequest -> findRealTickets(
+                        FlightSearchKey.from(pairRequest), pairRequest, SearchTrace.DISABLED),
+                        apiConfig.getFanOutConcurrency())
+                .collectList()
+                .map(results -> ColumnarSearchResult.concat(results, true));
+    }
+
+    /**
+     * Search every day in the flexible window as its own exact-date search, a bounded number at a time.
+     * Each day goes through the search cache and request coalescing, so overlapping flexible searches
+     * share upstream calls. Results are merged in date order alongside a lowest-price calendar.
+     * Only real tickets are priced in the calendar; mock tickets are generated for the requested date
+     * only when no day of the window has any.
+     */
+    private Mono<SearchSnapshot> searchFlexibleDates(FlightSearchKey key, TicketSearchRequest searchRequest,
+                                                     SearchTrace trace) {
+        int flexibleDays = searchRequest.getFlexibleDays();
+        LocalDate today = LocalDate.now();
+        trace.source("flexible");
+        
+        return Flux.range(-flexibleDays, 2 * flexibleDays + 1)
+                .filter(offset -> !searchRequest.getDepartureDate().plusDays(offset).isBefore(today))
+                .flatMapSequential(offset -> {
+                    TicketSearchRequest dayRequest = upstreamRequest(
+                            searchRequest, searchRequest.getOrigin(), searchRequest.getDestination(), offset);
+                    return findRealTicketsForAirports(FlightSearchKey.from(dayRequest), dayRequest, SearchTrace.DISABLED)
+                            .map(results -> Tuples.of(dayRequest, results));
+                }, apiConfig.getFanOutConcurrency())
+                .collectList()
+                .map(days -> {
+                    List<PriceCalendarDay> priceCalendar = new ArrayList<>(days.size());
+                    List<ColumnarSearchResult> results = new ArrayList<>(days.size());
+                    for (Tuple2<TicketSearchRequest, ColumnarSearchResult> day : days) {
+                        TicketSearchRequest dayRequest = day.getT1();
+                        ColumnarSearchResult dayResults = day.getT2();
+                        priceCalendar.add(new PriceCalendarDay(dayRequest.getDepartureDate(),
+                                dayRequest.isRoundTrip() ? dayRequest.getReturnDate() : null,
+                                dayResults.lowestPrice(), dayResults.size()));
+                        results.add(dayResults);
+                    }
+                    ColumnarSearchResult merged = ColumnarSearchResult.concat(results);
+                    if (merged.isEmpty()) {
+                        // The calendar stays empty: mock prices are not worth comparing dates by
+                        log.debug("No real tickets found in the flexible window, generating mock tickets");
+                        trace.source("mock");
+                        merged = ColumnarSearchResult.of(mockTicketGenerator.generateMockTickets(searchRequest));
+                    }
+                    return searchSnapshotStore.create(key, merged, priceCalendar);
+                });
+    }
+
+    /**
+     * Exact-date search for one part of a fan-out: a single day of a flexible search, or a single
+     * airport pair of a metro-area search. Both dates are shifted by the same offset.
+     */
+    private static TicketSearchRequest upstreamRequest(TicketSearchRequest searchRequest, String origin,
+                                                       String destination, int dayOffset) {
+        TicketSearchRequest upstreamRequest = new TicketSearchRequest();
+        upstreamRequest.setOrigin(origin);
+        upstreamRequest.setDestination(destination);
+        upstreamRequest.setDepartureDate(searchRequest.getDepartureDate().plusDays(dayOffset));
+        if (searchRequest.getReturnDate() != null) {
+            upstreamRequest.setReturnDate(searchRequest.getReturnDate().plusDays(dayOffset));
+        }
+        upstreamRequest.setRoundTrip(searchRequest.isRoundTrip());
+        upstreamRequest.setPassengers(searchRequest.getPassengers());
+        return upstreamRequest;
+    }
+
+    private PaginatedResponse<FlightTicket> buildPage(SearchSnapshot snapshot, TicketSearchRequest searchRequest, int page) {
+        int size = searchRequest.getSize();
+        
+        // Apply filters and sorting, counting facets over the whole search on the way; cached per snapshot
+        SearchResultRefiner.RefinedResults refined = searchResultRefiner.refine(snapshot, searchRequest);
+        int[] rows = refined.getRows();
+        
+        // Apply pagination; only the tickets on the page are built
+        List<FlightTicket> paginatedTickets = applyPagination(snapshot.getResults(), rows, page, size);
+        
+        // Create pagination metadata
+        PaginatedResponse.PaginationMetadata metadata = createPaginationMetadata(rows.length, page, size);
+        if (metadata.isHasNext()) {
+            metadata.setNextCursor(new SearchCursor(snapshot.getSearchId(),
+                    SearchResultRefiner.fingerprint(searchRequest), (page + 1) * size).encode());
+        }
+        
+        log.debug("Returning {} tickets (page {} of {})", 
+                paginatedTickets.size(), 
+                metadata.getPage() + 1, 
+                metadata.getTotalPages());
+        
+        PaginatedResponse<FlightTicket> response = new PaginatedResponse<>(paginatedTickets, metadata);
+        response.setSearchId(snapshot.getSearchId());
+        response.setFacets(refined.getFacets());
+        response.setPriceCalendar(snapshot.getPriceCalendar());
+        response.setStale(isStale(snapshot.getResults()));
+        response.setDataAgeSeconds(dataAge(snapshot.getResults()).getSeconds());
+        return response;
+    }
+
+    /**
+     * Look up real tickets in the search cache, falling back to the Amadeus API on a miss.
+     * Concurrent misses for the same search share a single Amadeus call.
+     */
+    private Mono<ColumnarSearchResult> findRealTickets(FlightSearchKey key, TicketSearchRequest searchRequest,
+                                                       SearchTrace trace) {
+        // Counted per upstream search, so the warmer can pre-fetch exactly what searches look up
+        searchTrafficTracker.record(key);
+        
+        ColumnarSearchResult cachedResults = flightSearchCache.getIfPresent(key);
+        if (cachedResults != null) {
+            log.debug("Serving {} tickets from search cache for {}", cachedResults.size(), key);
+            trace.source("cache");
+            // Past the fresh window: serve what we have and refresh it off the request path
+            if (isStale(cachedResults) && amadeusApiService.isApiAvailable()) {
+                trace.source("stale");
+                flightSearchLoader.revalidate(key);
+            }
+            return Mono.just(cachedResults);
+        }
+        
+        if (!amadeusApiService.isApiAvailable()) {
+            return Mono.just(ColumnarSearchResult.EMPTY);
+        }
+        
+        return flightSearchLoader.load(key, searchRequest, trace);
+    }
+
+    private boolean isStale(ColumnarSearchResult results) {
+        return dataAge(results).compareTo(apiConfig.getSearchCache().getFresh()) > 0;
+    }
+
+    private static Duration dataAge(ColumnarSearchResult results) {
+        Duration age = Duration.between(results.getFetchedAt(), Instant.now());
+        return age.isNegative() ? Duration.ZERO : age;
+    }
+
+    /**
+     * Build the tickets on one page of the given result rows
+     */
+    static List<FlightTicket> applyPagination(ColumnarSearchResult results, int[] rows, int page, int size) {
+        int startIndex = page * size;
+        int endIndex = Math.min(startIndex + size, rows.length);
+        
+        if (startIndex >= rows.length) {
+            return new ArrayList<>();
+        }
+        
+        return results.tickets(rows, startIndex, endIndex);
+    }
+    
+    /**
+     * Create pagination metadata
+     */
+    static PaginatedResponse.PaginationMetadata createPaginationMetadata(int totalElements, int page, int size) {
+        int totalPages = (int) Math.ceil((double) totalElements / size);
+        boolean hasNext = page < totalPages - 1;
+        boolean hasPrevious = page > 0;
+        
+        return new PaginatedResponse.PaginationMetadata(page, size, totalElements, totalPages, hasNext, hasPrevious);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.aim.service.impl;
+
+import com.aim.config.ApiConfig;
+import com.aim.dto.UnmatchedPaymentSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Keeps the most recent payment updates and lookups whose Stripe session matched no order,
+ * at most app.api.unmatched-session-history of them, for inspection through the
+ * unmatchedsessions actuator endpoint. Each miss is also counted in payment.sessions.unmatched.
+ */
+@Component
+public class UnmatchedSessionLog {
+
+    // Session IDs and statuses come from callers; longer values are cut so one entry stays small
+    private static final int MAX_VALUE_LENGTH = 255;
+
+    private final int capacity;
+    private final Deque<UnmatchedPaymentSession> recent;
+    private final Counter updates;
+    private final Counter lookups;
+
+    public UnmatchedSessionLog(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.capacity = Math.max(1, apiConfig.getUnmatchedSessionHistory());
+        this.recent = new ArrayDeque<>(capacity);
+        this.updates = counter(meterRegistry, "update");
+        this.lookups = counter(meterRegistry, "lookup");
+    }
+
+    /**
+     * Record a payment status update for an unknown session
+     */
+    public void recordUpdate(String sessionId, String paymentStatus) {
+        updates.increment();
+        add(new UnmatchedPaymentSession(truncate(sessionId), truncate(paymentStatus), "update", Instant.now()));
+    }
+
+    /**
+     * Record a lookup of an unknown session
+     */
+    public void recordLookup(String sessionId) {
+        lookups.increment();
+        add(new UnmatchedPaymentSession(truncate(sessionId), null, "lookup", Instant.now()));
+    }
+
+    /**
+     * @return the recorded misses, newest first
+     */
+    public synchronized List<UnmatchedPaymentSession> recent() {
+        List<UnmatchedPaymentSession> misses = new ArrayList<>(recent.size());
+        for (Iterator<UnmatchedPaymentSession> it = recent.descendingIterator(); it.hasNext(); ) {
+            misses.add(it.next());
+        }
+        return misses;
+    }
+
+    private synchronized void add(UnmatchedPaymentSession miss) {
+        if (recent.size() == capacity) {
+            recent.removeFirst();
+        }
+        recent.addLast(miss);
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_VALUE_LENGTH
+                ? value : value.substring(0, MAX_VALUE_LENGTH);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("payment.sessions.unmatched")
+                .description("Payment updates and lookups for Stripe sessions that match no order")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
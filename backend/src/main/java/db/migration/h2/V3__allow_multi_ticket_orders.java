@@ -0,0 +1,53 @@
+package db.migration.h2;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An order is stored as one row per flight ticket, and every row of an order shares its order
+ * and itinerary number, so neither column can be unique.
+ * The unique constraints are looked up by column because databases created by Hibernate named them
+ * UK_<hash>; H2 scripts cannot run dynamic SQL, so this migration is written in Java.
+ * itenary_number keeps a plain index for OrderRepository.findFirstByItineraryNumberOrderByIdAsc.
+ */
+public class V3__allow_multi_ticket_orders extends BaseJavaMigration {
+
+    private static final String UNIQUE_CONSTRAINTS = "SELECT DISTINCT tc.CONSTRAINT_NAME "
+            + "FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc "
+            + "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE kcu "
+            + "ON kcu.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA AND kcu.CONSTRAINT_NAME = tc.CONSTRAINT_NAME "
+            + "WHERE tc.TABLE_SCHEMA = CURRENT_SCHEMA AND UPPER(tc.TABLE_NAME) = 'ORDERS' "
+            + "AND tc.CONSTRAINT_TYPE = 'UNIQUE' "
+            + "AND UPPER(kcu.COLUMN_NAME) IN ('ORDER_NUMBER', 'ITENARY_NUMBER')";
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_orders_itenary_number ON orders (itenary_number)");
+
+            for (String constraint : uniqueConstraints(connection)) {
+                statement.execute("ALTER TABLE orders DROP CONSTRAINT \"" + constraint.replace("\"", "\"\"") + "\"");
+            }
+        }
+    }
+
+    private static List<String> uniqueConstraints(Connection connection) throws SQLException {
+        List<String> constraints = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(UNIQUE_CONSTRAINTS);
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                constraints.add(rows.getString(1));
+            }
+        }
+        return constraints;
+    }
+}
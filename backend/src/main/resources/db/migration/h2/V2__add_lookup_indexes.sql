@@ -0,0 +1,16 @@
+-- Indexes for the repository lookups on the request path.
+-- order_number and itenary_number are already indexed by their unique constraints.
+-- H2 also indexes each foreign key on its own, so orders.user_id and flight_ticket.email have a
+-- single-column index as well; the planner may use either for lookups by user.
+
+-- OrderRepository.findByStripeSessionId: every payment update and verification
+CREATE INDEX IF NOT EXISTS idx_orders_stripe_session_id ON orders (stripe_session_id);
+
+-- OrderRepository.findHistoryByUserId / findHistoryByUserIdBefore / countByUserId
+CREATE INDEX IF NOT EXISTS idx_orders_user_created ON orders (user_id, created_at);
+
+-- FlightTicketRepository.findByUserEmail / findSummariesByUserEmail(After) / countByUserEmail
+CREATE INDEX IF NOT EXISTS idx_flight_ticket_email_departure ON flight_ticket (email, departure_time);
+
+-- FlightTicketRepository.findByOriginAndDestination
+CREATE INDEX IF NOT EXISTS idx_flight_ticket_route ON flight_ticket (origin, destination);
@@ -0,0 +1,44 @@
+-- Indexes for the repository lookups on the request path.
+-- order_number and itenary_number are already indexed by their unique constraints.
+-- MySQL has no CREATE INDEX IF NOT EXISTS, so each index is only created when
+-- information_schema does not list it yet (for example when Hibernate created it from the entity).
+
+-- OrderRepository.findByStripeSessionId: every payment update and verification
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'orders'
+                 AND index_name = 'idx_orders_stripe_session_id') = 0,
+              'CREATE INDEX idx_orders_stripe_session_id ON orders (stripe_session_id)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+-- OrderRepository.findHistoryByUserId / findHistoryByUserIdBefore / countByUserId
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'orders'
+                 AND index_name = 'idx_orders_user_created') = 0,
+              'CREATE INDEX idx_orders_user_created ON orders (user_id, created_at)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+-- FlightTicketRepository.findByUserEmail / findSummariesByUserEmail(After) / countByUserEmail
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'flight_ticket'
+                 AND index_name = 'idx_flight_ticket_email_departure') = 0,
+              'CREATE INDEX idx_flight_ticket_email_departure ON flight_ticket (email, departure_time)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+-- FlightTicketRepository.findByOriginAndDestination
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'flight_ticket'
+                 AND index_name = 'idx_flight_ticket_route') = 0,
+              'CREATE INDEX idx_flight_ticket_route ON flight_ticket (origin, destination)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
@@ -0,0 +1,29 @@
+-- An order is stored as one row per flight ticket, and every row of an order shares its order
+-- and itinerary number, so neither column can be unique. The unique indexes are looked up by
+-- column because databases created by Hibernate named them UK_<hash>.
+-- itenary_number keeps a plain index for OrderRepository.findFirstByItineraryNumberOrderByIdAsc.
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'orders'
+                 AND index_name = 'idx_orders_itenary_number') = 0,
+              'CREATE INDEX idx_orders_itenary_number ON orders (itenary_number)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+SET @ddl = (SELECT IFNULL(CONCAT('ALTER TABLE orders DROP INDEX `', MIN(index_name), '`'), 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders'
+              AND column_name = 'order_number' AND non_unique = 0);
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+SET @ddl = (SELECT IFNULL(CONCAT('ALTER TABLE orders DROP INDEX `', MIN(index_name), '`'), 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders'
+              AND column_name = 'itenary_number' AND non_unique = 0);
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
@@ -0,0 +1,59 @@
+-- Tables as mapped by the User, FlightTicket and Order entities.
+-- The existence checks keep this a no-op on databases created by Hibernate before migrations existed.
+
+IF OBJECT_ID(N'users', N'U') IS NULL
+CREATE TABLE users (
+    id         BIGINT       IDENTITY NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    created_at DATETIME2(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+IF OBJECT_ID(N'flight_ticket', N'U') IS NULL
+CREATE TABLE flight_ticket (
+    id                    BIGINT         IDENTITY NOT NULL,
+    email                 VARCHAR(255),
+    passenger_name        VARCHAR(255)   NOT NULL,
+    passenger_dob         DATE           NOT NULL,
+    passenger_email       VARCHAR(255),
+    origin                VARCHAR(255)   NOT NULL,
+    destination           VARCHAR(255)   NOT NULL,
+    round_trip            BIT            NOT NULL,
+    departure_time        DATETIME2(6)   NOT NULL,
+    arrival_time          DATETIME2(6)   NOT NULL,
+    return_departure_time DATETIME2(6),
+    return_arrival_time   DATETIME2(6),
+    airline               VARCHAR(255)   NOT NULL,
+    cost                  NUMERIC(38, 2) NOT NULL,
+    stops                 INT            NOT NULL,
+    baggage               VARCHAR(255),
+    travel_class          VARCHAR(255),
+    duration              VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_flight_ticket_user FOREIGN KEY (email) REFERENCES users (email)
+);
+
+IF OBJECT_ID(N'orders', N'U') IS NULL
+CREATE TABLE orders (
+    id                BIGINT         IDENTITY NOT NULL,
+    user_id           BIGINT,
+    flight_ticket     BIGINT         NOT NULL,
+    email             VARCHAR(255)   NOT NULL,
+    ticket_info       VARCHAR(255)   NOT NULL,
+    order_number      VARCHAR(255)   NOT NULL,
+    itenary_number    VARCHAR(255)   NOT NULL,
+    cost              NUMERIC(38, 2) NOT NULL,
+    hotel_stay_order  VARCHAR(255),
+    rental_order      VARCHAR(255),
+    created_at        DATETIME2(6)   NOT NULL,
+    payment_status    VARCHAR(255)   NOT NULL,
+    stripe_session_id VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number),
+    CONSTRAINT uk_orders_itenary_number UNIQUE (itenary_number),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_orders_flight_ticket FOREIGN KEY (flight_ticket) REFERENCES flight_ticket (id)
+);
@@ -0,0 +1,18 @@
+-- Indexes for the repository lookups on the request path.
+-- order_number and itenary_number are already indexed by their unique constraints.
+
+-- OrderRepository.findByStripeSessionId: every payment update and verification
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'idx_orders_stripe_session_id')
+CREATE INDEX idx_orders_stripe_session_id ON orders (stripe_session_id);
+
+-- OrderRepository.findHistoryByUserId / findHistoryByUserIdBefore / countByUserId
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'idx_orders_user_created')
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at);
+
+-- FlightTicketRepository.findByUserEmail / findSummariesByUserEmail(After) / countByUserEmail
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'idx_flight_ticket_email_departure')
+CREATE INDEX idx_flight_ticket_email_departure ON flight_ticket (email, departure_time);
+
+-- FlightTicketRepository.findByOriginAndDestination
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'idx_flight_ticket_route')
+CREATE INDEX idx_flight_ticket_route ON flight_ticket (origin, destination);
@@ -0,0 +1,37 @@
+-- An order is stored as one row per flight ticket, and every row of an order shares its order
+-- and itinerary number, so neither column can be unique. The unique constraints are looked up by
+-- column because databases created by Hibernate named them UK_<hash>.
+-- itenary_number keeps a plain index for OrderRepository.findFirstByItineraryNumberOrderByIdAsc.
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'idx_orders_itenary_number')
+CREATE INDEX idx_orders_itenary_number ON orders (itenary_number);
+
+BEGIN
+    DECLARE @order_number_constraint NVARCHAR(128);
+    DECLARE @drop_order_number NVARCHAR(400);
+    SELECT @order_number_constraint = kc.name
+    FROM sys.key_constraints kc
+    JOIN sys.index_columns ic ON ic.object_id = kc.parent_object_id AND ic.index_id = kc.unique_index_id
+    JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+    WHERE kc.parent_object_id = OBJECT_ID(N'orders') AND kc.type = 'UQ' AND c.name = N'order_number';
+    IF @order_number_constraint IS NOT NULL
+    BEGIN
+        SET @drop_order_number = N'ALTER TABLE orders DROP CONSTRAINT ' + QUOTENAME(@order_number_constraint);
+        EXEC sp_executesql @drop_order_number;
+    END
+END;
+
+BEGIN
+    DECLARE @itenary_number_constraint NVARCHAR(128);
+    DECLARE @drop_itenary_number NVARCHAR(400);
+    SELECT @itenary_number_constraint = kc.name
+    FROM sys.key_constraints kc
+    JOIN sys.index_columns ic ON ic.object_id = kc.parent_object_id AND ic.index_id = kc.unique_index_id
+    JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+    WHERE kc.parent_object_id = OBJECT_ID(N'orders') AND kc.type = 'UQ' AND c.name = N'itenary_number';
+    IF @itenary_number_constraint IS NOT NULL
+    BEGIN
+        SET @drop_itenary_number = N'ALTER TABLE orders DROP CONSTRAINT ' + QUOTENAME(@itenary_number_constraint);
+        EXEC sp_executesql @drop_itenary_number;
+    END
+END;
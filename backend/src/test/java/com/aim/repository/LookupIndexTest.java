@@ -0,0 +1,115 @@
+package com.aim.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations on H2 and checks, with EXPLAIN, that the SQL Hibernate generates for
+ * the request-path lookups is served by an index rather than a table scan.
+ * The Stripe session lookup can only use idx_orders_stripe_session_id, so that index is checked by name.
+ * Lookups by user may also use the index H2 creates for the user foreign key, so for those the test
+ * only checks that the table is not scanned.
+ * Rows are committed (no test transaction) so the planner sees realistic table sizes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.aim.repository.RecordingStatementInspector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LookupIndexTest {
+
+    private static final int USERS = 50;
+    private static final int TICKETS = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private FlightTicketRepository flightTicketRepository;
+
+    @BeforeEach
+    void insertRows() {
+        jdbcTemplate.update("INSERT INTO users (email, password, name, created_at) "
+                + "SELECT 'user' || X || '@example.com', 'secret', 'User ' || X, CURRENT_TIMESTAMP "
+                + "FROM SYSTEM_RANGE(1, ?)", USERS);
+        jdbcTemplate.update("INSERT INTO flight_ticket (email, passenger_name, passenger_dob, origin, destination, "
+                + "round_trip, departure_time, arrival_time, airline, cost, stops) "
+                + "SELECT 'user' || (MOD(X, ?) + 1) || '@example.com', 'Passenger', DATE '1990-01-01', 'JFK', 'LAX', "
+                + "FALSE, DATEADD('HOUR', X, TIMESTAMP '2024-01-01 08:00:00'), "
+                + "DATEADD('HOUR', X + 6, TIMESTAMP '2024-01-01 08:00:00'), 'AA', 250.00, 0 "
+                + "FROM SYSTEM_RANGE(1, ?)", USERS, TICKETS);
+        jdbcTemplate.update("INSERT INTO orders (user_id, flight_ticket, email, ticket_info, order_number, "
+                + "itenary_number, cost, created_at, payment_status, stripe_session_id) "
+                + "SELECT u.id, t.id, t.email, 'Flight from JFK to LAX', 'ORD-' || t.id, 'ITIN-' || t.id, t.cost, "
+                + "t.departure_time, 'pending', 'cs_test_' || t.id "
+                + "FROM flight_ticket t JOIN users u ON u.email = t.email");
+        RecordingStatementInspector.clear();
+    }
+
+    @AfterEach
+    void deleteRows() {
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM flight_ticket");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void findByStripeSessionIdUsesStripeSessionIndex() {
+        orderRepository.findByStripeSessionId("cs_test_500");
+
+        assertThat(explain(RecordingStatementInspector.last(), "cs_test_500"))
+                .containsIgnoringCase("idx_orders_stripe_session_id");
+    }
+
+    @Test
+    void findHistoryByUserIdUsesIndex() {
+        Long userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        orderRepository.findHistoryByUserId(userId, PageRequest.of(0, PAGE_SIZE + 1));
+
+        assertIndexLookup(explain(RecordingStatementInspector.last(), userId), "ORDERS", "USER_ID");
+    }
+
+    @Test
+    void findSummariesByUserEmailUsesIndex() {
+        flightTicketRepository.findSummariesByUserEmail("user7@example.com", PageRequest.of(0, PAGE_SIZE + 1));
+
+        assertIndexLookup(explain(RecordingStatementInspector.last(), "user7@example.com"),
+                "FLIGHT_TICKET", "EMAIL");
+    }
+
+    /**
+     * H2 plans name the access path in a comment after each table: "PUBLIC.ORDERS.tableScan" for a scan,
+     * "PUBLIC.<index>: USER_ID = ?1" for an index lookup
+     */
+    private static void assertIndexLookup(String plan, String table, String column) {
+        assertThat(plan).doesNotContainIgnoringCase("PUBLIC." + table + ".tableScan");
+        assertThat(plan).containsPattern("(?i)/\\* PUBLIC\\.\\w+: " + column + " = ");
+    }
+
+    /**
+     * EXPLAIN a statement, binding the lookup value to the first parameter and the page size to any others
+     */
+    private String explain(String sql, Object lookupValue) {
+        assertThat(sql).as("statement sent by the repository").isNotNull();
+        List<Object> args = new ArrayList<>();
+        args.add(lookupValue);
+        for (int i = sql.indexOf('?', sql.indexOf('?') + 1); i >= 0; i = sql.indexOf('?', i + 1)) {
+            args.add(PAGE_SIZE + 1);
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args.toArray());
+    }
+}
@@ -0,0 +1,43 @@
+package com.aim.repository;
+
+import com.aim.model.Order;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The batch insert in OrderRepositoryCustomImpl lists the orders columns by hand.
+ * Checks that list against the columns Hibernate maps for Order, so a new field cannot be left out of it.
+ */
+@DataJpaTest
+class OrderInsertColumnsTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insertColumnsMatchMappedColumns() {
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Order.class);
+
+        List<String> mappedColumns = new ArrayList<>();
+        for (int property = 0; property < persister.getPropertyNames().length; property++) {
+            for (String column : persister.getPropertyColumnNames(property)) {
+                mappedColumns.add(column.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        assertThat(OrderRepositoryCustomImpl.INSERT_COLUMNS).containsExactlyInAnyOrderElementsOf(mappedColumns);
+    }
+}
@@ -0,0 +1,90 @@
+package com.aim.service.impl;
+
+import com.aim.dto.OrderRequest;
+import com.aim.dto.OrderResponse;
+import com.aim.model.FlightTicket;
+import com.aim.model.User;
+import com.aim.repository.KeysetCursorCodec;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Creating an order must cost the same number of statements however many tickets it has.
+ * Runs against the Flyway-migrated H2 schema, including its constraints.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderServiceImpl.class, KeysetCursorCodec.class})
+class OrderCreationQueryCountTest {
+
+    @Autowired
+    private OrderServiceImpl orderService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void createOrderQueriesDoNotGrowWithTickets(int tickets) {
+        User user = entityManager.persist(User.builder()
+                .email("traveller" + tickets + "@example.com")
+                .password("secret")
+                .name("Traveller")
+                .createdAt(LocalDateTime.now())
+                .build());
+        List<Long> ticketIds = new ArrayList<>();
+        for (int i = 0; i < tickets; i++) {
+            ticketIds.add(entityManager.persist(ticket(user, i)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        OrderRequest request = new OrderRequest();
+        request.setUserEmail(user.getEmail());
+        request.setFlightTicketIds(ticketIds);
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderResponse response = orderService.createOrder(request);
+
+        // One query for the user and one for all tickets with their owners; the order rows go in one JDBC batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(response.getOrderId()).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE itenary_number = ?",
+                Long.class, response.getItineraryNumber())).isEqualTo(tickets);
+    }
+
+    private static FlightTicket ticket(User user, int i) {
+        LocalDateTime departure = LocalDateTime.of(2024, 2, 15, 8, 0).plusDays(i);
+        return FlightTicket.builder()
+                .user(user)
+                .passengerName("Traveller")
+                .passengerDob(LocalDate.of(1990, 1, 1))
+                .origin("JFK")
+                .destination("LAX")
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(6))
+                .airline("AA")
+                .cost(new BigDecimal("250.00"))
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.aim.benchmark;
+
+import com.aim.config.WebClientConfig;
+import com.aim.model.FlightTicket;
+import com.aim.service.impl.AmadeusFlightOfferParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tree-based (String + readTree) versus streaming parsing of Amadeus flight-offers responses.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AmadeusParsingBenchmark {
+
+    @Param({"10", "50", "250"})
+    public int offers;
+
+    // Size of the network chunks the streaming parser is fed with
+    @Param({"8192"})
+    public int chunkSize;
+
+    private byte[] payload;
+    private TreeFlightOfferParser treeParser;
+    private AmadeusFlightOfferParser streamingParser;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new WebClientConfig().objectMapper();
+        payload = AmadeusPayloads.flightOffers(objectMapper, offers);
+        treeParser = new TreeFlightOfferParser(objectMapper);
+        streamingParser = new AmadeusFlightOfferParser(objectMapper, SearchFixtures.codeDictionary());
+    }
+
+    @Benchmark
+    public List<FlightTicket> treeFromString() {
+        // Previous path: bodyToMono(String.class), then readTree over the whole body
+        return treeParser.parseFlightResponse(new String(payload, StandardCharsets.UTF_8), true);
+    }
+
+    @Benchmark
+    public List<FlightTicket> streamingFromBytes() {
+        return streamingParser.parse(payload, true);
+    }
+
+    @Benchmark
+    public List<FlightTicket> streamingFromBuffers() {
+        // Current path: offers decoded from the body buffers as they arrive
+        return streamingParser.parse(chunks(), true).collectList().block();
+    }
+
+    private Flux<DataBuffer> chunks() {
+        DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        int chunkCount = (payload.length + chunkSize - 1) / chunkSize;
+        return Flux.range(0, chunkCount)
+                .map(chunk -> {
+                    int offset = chunk * chunkSize;
+                    int length = Math.min(chunkSize, payload.length - offset);
+                    return bufferFactory.wrap(ByteBuffer.wrap(payload, offset, length).slice());
+                });
+    }
+}
@@ -0,0 +1,47 @@
+package com.aim.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Builds Amadeus flight-offers payloads of a given size from the recorded sample response
+ */
+public final class AmadeusPayloads {
+
+    private static final String SAMPLE = "/amadeus/flight-offers-jfk-lax.json";
+
+    private AmadeusPayloads() {
+    }
+
+    /**
+     * @param objectMapper Mapper used to read the sample and write the result
+     * @param offerCount Number of offers in the returned payload (sample offers are repeated as needed)
+     * @return The payload as UTF-8 JSON bytes
+     */
+    public static byte[] flightOffers(ObjectMapper objectMapper, int offerCount) throws IOException {
+        ObjectNode sample;
+        try (InputStream in = AmadeusPayloads.class.getResourceAsStream(SAMPLE)) {
+            if (in == null) {
+                throw new IOException("Missing sample payload " + SAMPLE);
+            }
+            sample = (ObjectNode) objectMapper.readTree(in);
+        }
+
+        ArrayNode sampleOffers = (ArrayNode) sample.get("data");
+        ArrayNode offers = objectMapper.createArrayNode();
+        for (int i = 0; i < offerCount; i++) {
+            ObjectNode offer = ((ObjectNode) sampleOffers.get(i % sampleOffers.size())).deepCopy();
+            offer.put("id", String.valueOf(i + 1));
+            offers.add(offer);
+        }
+
+        ObjectNode payload = sample.deepCopy();
+        payload.set("data", offers);
+        ((ObjectNode) payload.get("meta")).put("count", offerCount);
+        return objectMapper.writeValueAsBytes(payload);
+    }
+}
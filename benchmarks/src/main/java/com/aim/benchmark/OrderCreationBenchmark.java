@@ -0,0 +1,166 @@
+package com.aim.benchmark;
+
+import com.aim.model.FlightTicket;
+import com.aim.model.Order;
+import com.aim.model.User;
+import com.aim.repository.OrderRepositoryCustomImpl;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The database work of creating an order of 1, 10 and 50 tickets on in-memory H2:
+ * looking the tickets and their owners up one at a time vs. in one joined query,
+ * and inserting the order rows one at a time vs. in one JDBC batch.
+ * The schema is created by the application's H2 migrations, so inserts meet the same constraints as in production.
+ * The lookup statements mirror what Hibernate issues for findById plus a lazy user load,
+ * and for the fetch-joined findAllByIdWithUser.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderCreationBenchmark {
+
+    private static final String INSERT_ORDER = "INSERT INTO orders (user_id, flight_ticket, email, ticket_info, "
+            + "order_number, itenary_number, cost, hotel_stay_order, rental_order, created_at, payment_status, "
+            + "stripe_session_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"1", "10", "50"})
+    public int tickets;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private OrderRepositoryCustomImpl orderRepository;
+    private User user;
+    private List<FlightTicket> flightTickets;
+    private List<Long> ticketIds;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:orders;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        orderRepository = new OrderRepositoryCustomImpl(jdbcTemplate);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+
+        jdbcTemplate.update("INSERT INTO users (email, password, name, created_at) VALUES (?, ?, ?, ?)",
+                "traveller@example.com", "secret", "Traveller", Timestamp.valueOf(LocalDateTime.now()));
+        user = User.builder()
+                .id(jdbcTemplate.queryForObject("SELECT id FROM users", Long.class))
+                .email("traveller@example.com")
+                .build();
+
+        flightTickets = new ArrayList<>();
+        ticketIds = new ArrayList<>();
+        LocalDateTime departure = LocalDateTime.of(2024, 2, 15, 8, 0);
+        for (int i = 0; i < tickets; i++) {
+            jdbcTemplate.update("INSERT INTO flight_ticket (email, passenger_name, passenger_dob, origin, destination, "
+                    + "round_trip, departure_time, arrival_time, airline, cost, stops) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    user.getEmail(), "Traveller", Date.valueOf(LocalDate.of(1990, 1, 1)), "JFK", "LAX", false,
+                    Timestamp.valueOf(departure.plusDays(i)), Timestamp.valueOf(departure.plusDays(i).plusHours(6)),
+                    "AA", new BigDecimal("250.00"), 0);
+        }
+        for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT id FROM flight_ticket ORDER BY id")) {
+            long id = ((Number) row.get("ID")).longValue();
+            ticketIds.add(id);
+            flightTickets.add(FlightTicket.builder().id(id).origin("JFK").destination("LAX")
+                    .cost(new BigDecimal("250.00")).build());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearOrders() {
+        jdbcTemplate.execute("DELETE FROM orders");
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int lookupTicketsOneByOne() {
+        int found = 0;
+        for (Long id : ticketIds) {
+            Map<String, Object> ticket = jdbcTemplate.queryForMap(
+                    "SELECT id, email, origin, destination, cost FROM flight_ticket WHERE id = ?", id);
+            found += jdbcTemplate.queryForList(
+                    "SELECT id, email, name FROM users WHERE email = ?", ticket.get("EMAIL")).size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int lookupTicketsWithUsers() {
+        String placeholders = String.join(", ", Collections.nCopies(ticketIds.size(), "?"));
+        return jdbcTemplate.queryForList("SELECT t.id, t.email, t.origin, t.destination, t.cost, u.id, u.name "
+                + "FROM flight_ticket t LEFT JOIN users u ON u.email = t.email WHERE t.id IN (" + placeholders + ")",
+                ticketIds.toArray()).size();
+    }
+
+    @Benchmark
+    public int insertOrdersOneByOne() {
+        int inserted = 0;
+        for (Order order : newOrders()) {
+            inserted += jdbcTemplate.update(INSERT_ORDER, user.getId(), order.getFlightTicket().getId(),
+                    order.getEmail(), order.getTicketInfo(), order.getOrderNumber(), order.getItineraryNumber(),
+                    order.getCost(), null, null, Timestamp.valueOf(order.getCreatedAt()), "pending", null);
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    public List<Order> insertOrdersInBatch() {
+        return orderRepository.insertAll(newOrders());
+    }
+
+    private List<Order> newOrders() {
+        List<Order> orders = new ArrayList<>(flightTickets.size());
+        for (FlightTicket flightTicket : flightTickets) {
+            orders.add(Order.builder()
+                    .user(user)
+                    .flightTicket(flightTicket)
+                    .email(user.getEmail())
+                    .ticketInfo("Flight from JFK to LAX")
+                    .orderNumber("ORD-BENCH")
+                    .itineraryNumber("ITIN-BENCH")
+                    .cost(flightTicket.getCost())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,77 @@
+package com.aim.benchmark;
+
+import com.aim.config.ApiConfig;
+import com.aim.config.WebClientConfig;
+import com.aim.search.ColumnarSearchResult;
+import com.aim.search.FlightSearchKey;
+import com.aim.search.SearchResultDiskStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writing a search result to the disk cache and reading it back
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchDiskCacheBenchmark {
+
+    @Param({"50", "250"})
+    public int tickets;
+
+    private Path directory;
+    private SearchResultDiskStore store;
+    private FlightSearchKey key;
+    private ColumnarSearchResult results;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("search-disk-cache");
+        ApiConfig apiConfig = new ApiConfig();
+        apiConfig.getSearchDiskCache().setEnabled(true);
+        apiConfig.getSearchDiskCache().setDirectory(directory.toString());
+        store = new SearchResultDiskStore(apiConfig, SearchFixtures.codeDictionary(), new SimpleMeterRegistry());
+
+        key = FlightSearchKey.from(SearchFixtures.searchRequest(true, 0, 10));
+        results = ColumnarSearchResult.of(SearchFixtures.parsedTickets(new WebClientConfig().objectMapper(), tickets));
+        store.write(key, results);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void write() {
+        store.write(key, results);
+    }
+
+    @Benchmark
+    public ColumnarSearchResult read() {
+        return store.read(key);
+    }
+}
@@ -0,0 +1,47 @@
+package com.aim.benchmark;
+
+import com.aim.config.ApiConfig;
+import com.aim.dto.TicketSearchRequest;
+import com.aim.model.FlightTicket;
+import com.aim.search.CodeDictionary;
+import com.aim.service.impl.AmadeusFlightOfferParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Shared inputs for the search path benchmarks
+ */
+public final class SearchFixtures {
+
+    private SearchFixtures() {
+    }
+
+    public static TicketSearchRequest searchRequest(boolean roundTrip, int page, int size) {
+        LocalDate departureDate = LocalDate.now().plusDays(30);
+        TicketSearchRequest request = new TicketSearchRequest();
+        request.setOrigin("JFK");
+        request.setDestination("LAX");
+        request.setDepartureDate(departureDate);
+        request.setReturnDate(roundTrip ? departureDate.plusDays(5) : null);
+        request.setRoundTrip(roundTrip);
+        request.setPage(page);
+        request.setSize(size);
+        return request;
+    }
+
+    public static CodeDictionary codeDictionary() {
+        return new CodeDictionary(new ApiConfig(), new SimpleMeterRegistry());
+    }
+
+    /**
+     * @return Round-trip tickets with segments, parsed from the recorded Amadeus sample
+     */
+    public static List<FlightTicket> parsedTickets(ObjectMapper objectMapper, int count) throws IOException {
+        byte[] payload = AmadeusPayloads.flightOffers(objectMapper, count);
+        return new AmadeusFlightOfferParser(objectMapper, codeDictionary()).parse(payload, true);
+    }
+}
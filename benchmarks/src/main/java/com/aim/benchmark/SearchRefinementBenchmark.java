@@ -0,0 +1,68 @@
+package com.aim.benchmark;
+
+import com.aim.config.ApiConfig;
+import com.aim.config.WebClientConfig;
+import com.aim.dto.SearchSort;
+import com.aim.dto.TicketSearchRequest;
+import com.aim.model.FlightTicket;
+import com.aim.search.ColumnarSearchResult;
+import com.aim.search.SearchResultRefiner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting a parsed search result to columns, and filtering, sorting and faceting it
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchRefinementBenchmark {
+
+    @Param({"50", "250"})
+    public int tickets;
+
+    private List<FlightTicket> parsedTickets;
+    private ColumnarSearchResult results;
+    private SearchResultRefiner refiner;
+    private TicketSearchRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        parsedTickets = SearchFixtures.parsedTickets(new WebClientConfig().objectMapper(), tickets);
+        results = ColumnarSearchResult.of(parsedTickets);
+        refiner = new SearchResultRefiner(new ApiConfig(), new SimpleMeterRegistry());
+
+        request = SearchFixtures.searchRequest(true, 0, 10);
+        request.setMaxPrice(new BigDecimal("1000"));
+        request.setMaxStops(1);
+        request.setSortBy(SearchSort.PRICE);
+    }
+
+    @Benchmark
+    public ColumnarSearchResult toColumns() {
+        return ColumnarSearchResult.of(parsedTickets);
+    }
+
+    @Benchmark
+    public SearchResultRefiner.RefinedResults filterSortAndFacet() {
+        return refiner.refine(results, request);
+    }
+}
@@ -0,0 +1,54 @@
+package com.aim.benchmark;
+
+import com.aim.config.WebClientConfig;
+import com.aim.dto.PaginatedResponse;
+import com.aim.model.FlightTicket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size of one search response page as JSON, gzip-compressed JSON, CBOR and Smile.
+ *
+ * java -cp benchmarks/target/benchmarks.jar com.aim.benchmark.SearchResponsePayloadSize
+ */
+public final class SearchResponsePayloadSize {
+
+    private static final int[] PAGE_SIZES = {10, 50, 100};
+
+    private SearchResponsePayloadSize() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new WebClientConfig().objectMapper();
+        ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+        ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+
+        System.out.printf("%8s %12s %12s %12s %12s%n", "tickets", "json", "json+gzip", "cbor", "smile");
+        for (int pageSize : PAGE_SIZES) {
+            List<FlightTicket> tickets = SearchFixtures.parsedTickets(objectMapper, pageSize);
+            PaginatedResponse.PaginationMetadata metadata =
+                    new PaginatedResponse.PaginationMetadata(0, pageSize, 250, (250 + pageSize - 1) / pageSize, true, false);
+            PaginatedResponse<FlightTicket> response = new PaginatedResponse<>(tickets, metadata);
+
+            System.out.printf("%8d %12d %12d %12d %12d%n", pageSize,
+                    objectMapper.writeValueAsBytes(response).length,
+                    gzip(objectMapper, response).length,
+                    cborMapper.writeValueAsBytes(response).length,
+                    smileMapper.writeValueAsBytes(response).length);
+        }
+    }
+
+    private static byte[] gzip(ObjectMapper objectMapper, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, value);
+        }
+        return bytes.toByteArray();
+    }
+}
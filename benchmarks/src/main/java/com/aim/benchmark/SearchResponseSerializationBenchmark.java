@@ -0,0 +1,82 @@
+package com.aim.benchmark;
+
+import com.aim.config.WebClientConfig;
+import com.aim.dto.PaginatedResponse;
+import com.aim.model.FlightTicket;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization of a search response page with the application's ObjectMapper, as JSON,
+ * gzip-compressed JSON, CBOR and Smile. SearchResponsePayloadSize reports the resulting sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchResponseSerializationBenchmark {
+
+    @Param({"10", "50", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+    private PaginatedResponse<FlightTicket> response;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new WebClientConfig().objectMapper();
+        cborMapper = objectMapper.copyWith(new CBORFactory());
+        smileMapper = objectMapper.copyWith(new SmileFactory());
+        List<FlightTicket> tickets = SearchFixtures.parsedTickets(objectMapper, pageSize);
+        PaginatedResponse.PaginationMetadata metadata =
+                new PaginatedResponse.PaginationMetadata(0, pageSize, 250, (250 + pageSize - 1) / pageSize, true, false);
+        response = new PaginatedResponse<>(tickets, metadata);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeGzipJson() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, response);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(response);
+    }
+}
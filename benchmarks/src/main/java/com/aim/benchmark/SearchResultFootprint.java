@@ -0,0 +1,37 @@
+package com.aim.benchmark;
+
+import com.aim.config.WebClientConfig;
+import com.aim.model.FlightTicket;
+import com.aim.search.ColumnarSearchResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+
+/**
+ * Retained heap of one cached search, as a list of parsed tickets and in columnar form.
+ *
+ * java -cp benchmarks/target/benchmarks.jar com.aim.benchmark.SearchResultFootprint
+ */
+public final class SearchResultFootprint {
+
+    private static final int[] TICKET_COUNTS = {10, 50, 250};
+
+    private SearchResultFootprint() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new WebClientConfig().objectMapper();
+
+        System.out.printf("%8s %16s %16s %8s%n", "tickets", "tickets (bytes)", "columnar (bytes)", "ratio");
+        for (int count : TICKET_COUNTS) {
+            List<FlightTicket> tickets = SearchFixtures.parsedTickets(objectMapper, count);
+            ColumnarSearchResult results = ColumnarSearchResult.of(tickets);
+
+            long ticketBytes = GraphLayout.parseInstance(tickets).totalSize();
+            long columnarBytes = GraphLayout.parseInstance(results).totalSize();
+            System.out.printf("%8d %16d %16d %7.1fx%n",
+                    count, ticketBytes, columnarBytes, (double) ticketBytes / columnarBytes);
+        }
+    }
+}
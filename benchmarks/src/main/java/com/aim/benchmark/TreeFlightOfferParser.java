@@ -0,0 +1,154 @@
+package com.aim.benchmark;
+
+import com.aim.model.FlightTicket;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Baseline: the tree-based parsing AmadeusApiServiceImpl used before the streaming parser
+ * (whole body as a String, readTree, then walking the JsonNode DOM). Logging is left out so
+ * the comparison measures parsing only.
+ */
+public class TreeFlightOfferParser {
+
+    private final ObjectMapper objectMapper;
+
+    public TreeFlightOfferParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public List<FlightTicket> parseFlightResponse(String response, boolean roundTrip) {
+        List<FlightTicket> tickets = new ArrayList<>();
+
+        try {
+            JsonNode jsonResponse = objectMapper.readTree(response);
+            JsonNode data = jsonResponse.get("data");
+
+            if (data != null && data.isArray()) {
+                for (int i = 0; i < data.size(); i++) {
+                    FlightTicket ticket = parseFlightOffer(data.get(i), roundTrip);
+                    if (ticket != null) {
+                        tickets.add(ticket);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Error parsing Amadeus API response", e);
+        }
+
+        return tickets;
+    }
+
+    private FlightTicket parseFlightOffer(JsonNode offer, boolean roundTrip) {
+        try {
+            FlightTicket ticket = new FlightTicket();
+
+            JsonNode priceNode = offer.get("price");
+            if (priceNode != null && priceNode.has("total")) {
+                ticket.setCost(new BigDecimal(priceNode.get("total").asText()));
+            } else {
+                JsonNode pricingOptions = offer.get("pricingOptions");
+                if (pricingOptions != null && pricingOptions.isArray() && pricingOptions.size() > 0) {
+                    JsonNode firstOption = pricingOptions.get(0);
+                    if (firstOption.has("price") && firstOption.get("price").has("total")) {
+                        ticket.setCost(new BigDecimal(firstOption.get("price").get("total").asText()));
+                    }
+                }
+            }
+
+            JsonNode itineraries = offer.get("itineraries");
+            if (itineraries != null && itineraries.isArray() && itineraries.size() > 0) {
+                JsonNode segments = itineraries.get(0).get("segments");
+
+                if (segments != null && segments.isArray() && segments.size() > 0) {
+                    JsonNode firstSegment = segments.get(0);
+                    JsonNode lastSegment = segments.get(segments.size() - 1);
+
+                    ticket.setDepartureTime(LocalDateTime.parse(firstSegment.get("departure").get("at").asText().replace("Z", "")));
+                    ticket.setArrivalTime(LocalDateTime.parse(lastSegment.get("arrival").get("at").asText().replace("Z", "")));
+                    ticket.setOrigin(firstSegment.get("departure").get("iataCode").asText());
+                    ticket.setDestination(lastSegment.get("arrival").get("iataCode").asText());
+                    ticket.setAirline(firstSegment.get("carrierCode").asText());
+                    ticket.setStops(segments.size() - 1);
+
+                    if (firstSegment.has("duration")) {
+                        ticket.setDuration(formatDuration(firstSegment.get("duration").asText()));
+                    }
+
+                    ticket.setOutboundSegments(parseSegments(segments));
+                }
+            }
+
+            ticket.setRoundTrip(roundTrip);
+
+            if (roundTrip && itineraries != null && itineraries.size() > 1) {
+                JsonNode segments = itineraries.get(1).get("segments");
+
+                if (segments != null && segments.isArray() && segments.size() > 0) {
+                    JsonNode firstSegment = segments.get(0);
+                    JsonNode lastSegment = segments.get(segments.size() - 1);
+
+                    ticket.setReturnDepartureTime(LocalDateTime.parse(firstSegment.get("departure").get("at").asText().replace("Z", "")));
+                    ticket.setReturnArrivalTime(LocalDateTime.parse(lastSegment.get("arrival").get("at").asText().replace("Z", "")));
+                    ticket.setReturnSegments(parseSegments(segments));
+                }
+            }
+
+            ticket.setBaggage("1 checked bag");
+            ticket.setTravelClass("Economy");
+
+            return ticket;
+
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private List<FlightTicket.FlightSegment> parseSegments(JsonNode segments) {
+        List<FlightTicket.FlightSegment> flightSegments = new ArrayList<>();
+
+        for (JsonNode segment : segments) {
+            try {
+                flightSegments.add(FlightTicket.FlightSegment.builder()
+                        .departureAirport(segment.get("departure").get("iataCode").asText())
+                        .arrivalAirport(segment.get("arrival").get("iataCode").asText())
+                        .departureTime(LocalDateTime.parse(segment.get("departure").get("at").asText().replace("Z", "")))
+                        .arrivalTime(LocalDateTime.parse(segment.get("arrival").get("at").asText().replace("Z", "")))
+                        .airline(segment.get("carrierCode").asText())
+                        .flightNumber(segment.has("number") ? segment.get("number").asText() : null)
+                        .duration(segment.has("duration") ? formatDuration(segment.get("duration").asText()) : null)
+                        .aircraft(segment.has("aircraft") ? segment.get("aircraft").get("code").asText() : null)
+                        .terminal(segment.get("departure").has("terminal") ? segment.get("departure").get("terminal").asText() : null)
+                        .gate(segment.get("departure").has("gate") ? segment.get("departure").get("gate").asText() : null)
+                        .build());
+            } catch (Exception e) {
+                // Skip unparsable segments, as the original implementation did
+            }
+        }
+
+        return flightSegments;
+    }
+
+    private static String formatDuration(String isoDuration) {
+        String duration = isoDuration.replace("PT", "");
+        StringBuilder result = new StringBuilder();
+
+        int hourIndex = duration.indexOf('H');
+        if (hourIndex != -1) {
+            result.append(duration, 0, hourIndex).append("h ");
+            duration = duration.substring(hourIndex + 1);
+        }
+
+        int minuteIndex = duration.indexOf('M');
+        if (minuteIndex != -1) {
+            result.append(duration, 0, minuteIndex).append("m");
+        }
+
+        return result.toString().trim();
+    }
+}
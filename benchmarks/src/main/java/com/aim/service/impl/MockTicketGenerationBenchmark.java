@@ -0,0 +1,48 @@
+package com.aim.service.impl;
+
+import com.aim.benchmark.SearchFixtures;
+import com.aim.dto.TicketSearchRequest;
+import com.aim.model.FlightTicket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mock ticket generation, which serves every search the Amadeus API cannot answer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MockTicketGenerationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean roundTrip;
+
+    private MockTicketGenerator generator;
+    private TicketSearchRequest request;
+
+    @Setup
+    public void setUp() {
+        generator = new MockTicketGenerator(SearchFixtures.codeDictionary());
+        request = SearchFixtures.searchRequest(roundTrip, 0, 10);
+    }
+
+    @Benchmark
+    public List<FlightTicket> generateMockTickets() {
+        return generator.generateMockTickets(request);
+    }
+}
@@ -0,0 +1,64 @@
+package com.aim.service.impl;
+
+import com.aim.benchmark.SearchFixtures;
+import com.aim.config.WebClientConfig;
+import com.aim.dto.PaginatedResponse;
+import com.aim.model.FlightTicket;
+import com.aim.search.ColumnarSearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * TicketServiceImpl pagination over a full search result, for the last page.
+ * Includes building the page's tickets from the columnar result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaginationBenchmark {
+
+    @Param({"50", "250"})
+    public int totalTickets;
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ColumnarSearchResult results;
+    private int[] rows;
+    private int lastPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<FlightTicket> tickets = SearchFixtures.parsedTickets(new WebClientConfig().objectMapper(), totalTickets);
+        results = ColumnarSearchResult.of(tickets);
+        rows = IntStream.range(0, results.size()).toArray();
+        lastPage = (totalTickets - 1) / pageSize;
+    }
+
+    @Benchmark
+    public void applyPagination(Blackhole blackhole) {
+        List<FlightTicket> page = TicketServiceImpl.applyPagination(results, rows, lastPage, pageSize);
+        PaginatedResponse.PaginationMetadata metadata =
+                TicketServiceImpl.createPaginationMetadata(rows.length, lastPage, pageSize);
+        blackhole.consume(page);
+        blackhole.consume(metadata);
+    }
+}
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+#
+# Drives /api/v1/tickets/search and /api/v1/tickets/create at increasing concurrency
+# so the platform-thread and virtual-thread execution modes can be compared.
+#
+# Requires `hey` (https://github.com/rakyll/hey) and a running backend:
+#   platform threads: mvn -pl backend spring-boot:run
+#   virtual threads:  mvn -pl backend -Pvirtual-threads spring-boot:run   (Java 21)
+#
+# Usage: loadtest/compare-threading.sh <label> [base-url] [duration]
+#   e.g. loadtest/compare-threading.sh platform
+#        loadtest/compare-threading.sh virtual
+# Results are written to loadtest/results/<label>-<endpoint>-c<concurrency>.txt
+
+set -euo pipefail
+
+LABEL="${1:?label required, e.g. platform or virtual}"
+BASE_URL="${2:-http://localhost:8080/api/v1/tickets}"
+DURATION="${3:-30s}"
+CONCURRENCY_LEVELS="${CONCURRENCY_LEVELS:-50 200 400 800}"
+RESULTS_DIR="$(dirname "$0")/results"
+
+DEPARTURE_DATE="$(date -d '+30 days' +%F 2>/dev/null || date -v+30d +%F)"
+
+SEARCH_BODY=$(cat <<JSON
+{"origin":"JFK","destination":"LAX","departureDate":"${DEPARTURE_DATE}","roundTrip":false,"passengers":1,"page":0,"size":10}
+JSON
+)
+
+CREATE_BODY=$(cat <<JSON
+{"passenger":"Load Test","dob":"1990-01-01","origin":"JFK","destination":"LAX","roundTrip":false,
+ "departureTime":"${DEPARTURE_DATE}T08:00:00","arrivalTime":"${DEPARTURE_DATE}T11:30:00",
+ "airline":"Delta","cost":450.00,"stops":0}
+JSON
+)
+
+mkdir -p "$RESULTS_DIR"
+
+run() {
+    local endpoint="$1" body="$2" concurrency="$3"
+    local out="$RESULTS_DIR/${LABEL}-${endpoint}-c${concurrency}.txt"
+    echo "== ${LABEL}: POST /${endpoint} with ${concurrency} concurrent clients for ${DURATION}"
+    hey -z "$DURATION" -c "$concurrency" -m POST -T application/json -d "$body" \
+        "${BASE_URL}/${endpoint}" > "$out"
+    grep -E "Requests/sec|Average|99% in|Status code distribution" -A0 "$out" || true
+}
+
+for c in $CONCURRENCY_LEVELS; do
+    run search "$SEARCH_BODY" "$c"
+    # The create path calls Stripe; use a Stripe test-mode key
+    run create "$CREATE_BODY" "$c"
+done
+
+echo "Done. Compare ${RESULTS_DIR}/platform-* against ${RESULTS_DIR}/virtual-*"
@@ -1,26 +0,0 @@
-package com.aim.dto;
-
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
-import java.util.List;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class PaginatedResponse<T> {
-    private List<T> data;
-    private PaginationMetadata pagination;
-    
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class PaginationMetadata {
-        private int page;
-        private int size;
-        private long totalElements;
-        private int totalPages;
-        private boolean hasNext;
-        private boolean hasPrevious;
-    }
-} 
\ No newline at end of file
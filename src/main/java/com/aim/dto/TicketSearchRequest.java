@@ -1,41 +0,0 @@
-package com.aim.dto;
-
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.Max;
-import jakarta.validation.constraints.FutureOrPresent;
-import java.time.LocalDate;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class TicketSearchRequest {
-    @NotBlank(message = "Origin is required")
-    private String origin;
-    
-    @NotBlank(message = "Destination is required")
-    private String destination;
-    
-    @NotNull(message = "Departure date is required")
-    @FutureOrPresent(message = "Departure date must be today or in the future")
-    private LocalDate departureDate;
-    
-    private LocalDate returnDate; // nullable for one-way
-    
-    private boolean roundTrip;
-    
-    @Min(value = 1, message = "At least 1 passenger is required")
-    private int passengers = 1;
-    
-    // Pagination parameters
-    @Min(value = 0, message = "Page number must be 0 or greater")
-    private int page = 0;
-    
-    @Min(value = 1, message = "Page size must be at least 1")
-    @Max(value = 100, message = "Page size cannot exceed 100")
-    private int size = 10;
-} 
\ No newline at end of file
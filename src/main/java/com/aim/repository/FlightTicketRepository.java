@@ -1,17 +0,0 @@
-package com.aim.repository;
-
-import com.aim.model.FlightTicket;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.List;
-
-@Repository
-public interface FlightTicketRepository extends JpaRepository<FlightTicket, Long> {
-    
-    List<FlightTicket> findByUserEmail(String email);
-    
-    List<FlightTicket> findByOriginAndDestination(String origin, String destination);
-    
-    List<FlightTicket> findByUserEmailAndRoundTrip(String email, boolean roundTrip);
-} 
\ No newline at end of file